@@ -10,12 +10,14 @@ import java.nio.file.StandardCopyOption
 plugins {
     java
     id("xyz.jpenilla.run-paper") version "2.3.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "sh.harold"
 version = "1.0-SNAPSHOT"
 
 val fulcrumVersion = providers.gradleProperty("fulcrumVersion").orElse("3.4.6").get()
+val paperApi = "io.papermc.paper:paper-api:1.21.8-R0.1-SNAPSHOT"
 
 repositories {
     mavenCentral()
@@ -27,9 +29,35 @@ repositories {
 }
 
 dependencies {
-    compileOnly("io.papermc.paper:paper-api:1.21.8-R0.1-SNAPSHOT")
+    compileOnly(paperApi)
     compileOnly("com.github.haroldDOTsh.fulcrum:common-api:$fulcrumVersion") // Contracts, ranks, session/message APIs
     compileOnly("com.github.haroldDOTsh.fulcrum:runtime:$fulcrumVersion") // Paper runtime hooks (module development)
+
+    jmh(paperApi) // Plain Bukkit value types (Location, Vector) for hot-path benchmarks
+    jmh("com.github.haroldDOTsh.fulcrum:common-api:$fulcrumVersion") // Links classes that reference Fulcrum types
+    jmh("com.github.haroldDOTsh.fulcrum:runtime:$fulcrumVersion")
+}
+
+val simulation: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[simulation.implementationConfigurationName].extendsFrom(configurations.compileOnly.get())
+
+tasks.register<JavaExec>("runSimulation") {
+    group = "verification"
+    description = "Runs the headless Sumo load simulation; pass options with -Pargs=\"--matches 2000\"."
+    classpath = simulation.runtimeClasspath
+    mainClass.set("sh.harold.duels.sumo.SumoLoadSimulation")
+    providers.gradleProperty("args").orNull?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON") // build/results/jmh/results.json is the baseline to diff between runs
 }
 
 tasks.register("updateFulcrumRuntime") {
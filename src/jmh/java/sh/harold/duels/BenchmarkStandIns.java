@@ -0,0 +1,57 @@
+package sh.harold.duels;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import org.bukkit.World;
+
+/**
+ * Plain stand-ins for server types that benchmarks only pass around, never drive.
+ */
+public final class BenchmarkStandIns {
+    private BenchmarkStandIns() {
+    }
+
+    /**
+     * A {@link World} that answers its name and id; every other call returns the type's default value.
+     */
+    public static World world(String name) {
+        UUID worldId = UUID.nameUUIDFromBytes(name.getBytes());
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> name;
+                    case "getUID" -> worldId;
+                    case "hashCode" -> worldId.hashCode();
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "BenchmarkWorld{" + name + "}";
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
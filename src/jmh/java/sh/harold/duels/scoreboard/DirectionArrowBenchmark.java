@@ -0,0 +1,74 @@
+package sh.harold.duels.scoreboard;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the Vector/atan2 arrow from the original OpponentModule against {@link DuelsDirectionArrows}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DirectionArrowBenchmark {
+    private static final int SAMPLES = 1024;
+    private static final char[] DIRECTION_ARROWS = {'⬆', '⬈', '➡', '⬊', '⬇', '⬋', '⬅', '⬉'};
+
+    private final Location[] sources = new Location[SAMPLES];
+    private final Location[] targets = new Location[SAMPLES];
+    private final double[] dx = new double[SAMPLES];
+    private final double[] dy = new double[SAMPLES];
+    private final double[] dz = new double[SAMPLES];
+    private final float[] yaw = new float[SAMPLES];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < SAMPLES; i++) {
+            float sourceYaw = (float) random.nextDouble(-180D, 180D);
+            sources[i] = new Location(null, random.nextDouble(-8D, 8D), 64D, random.nextDouble(-8D, 8D),
+                    sourceYaw, 0F);
+            targets[i] = new Location(null, random.nextDouble(-8D, 8D), 64D + random.nextDouble(-1D, 1D),
+                    random.nextDouble(-8D, 8D));
+            dx[i] = targets[i].getX() - sources[i].getX();
+            dy[i] = targets[i].getY() - sources[i].getY();
+            dz[i] = targets[i].getZ() - sources[i].getZ();
+            yaw[i] = sourceYaw;
+        }
+    }
+
+    @Benchmark
+    public void vectorAtan2(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(legacyArrow(sources[i], targets[i]));
+        }
+    }
+
+    @Benchmark
+    public void octantQuantizer(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(DuelsDirectionArrows.arrow(dx[i], dy[i], dz[i], yaw[i]));
+        }
+    }
+
+    private static String legacyArrow(Location source, Location target) {
+        Vector delta = target.toVector().subtract(source.toVector());
+        if (delta.lengthSquared() < 0.01D) {
+            return "•";
+        }
+        double yawRadians = Math.toRadians(source.getYaw());
+        double angleToTarget = Math.atan2(-delta.getX(), delta.getZ());
+        double relative = (angleToTarget - yawRadians + (Math.PI * 2)) % (Math.PI * 2);
+        int index = (int) Math.round(relative / (Math.PI / 4)) & 7;
+        return String.valueOf(DIRECTION_ARROWS[index]);
+    }
+}
@@ -0,0 +1,65 @@
+package sh.harold.duels.scoreboard;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-refresh cost of reading the match clock, which every scoreboard and every round tick does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MatchClockBenchmark {
+    private DuelsMatchClock running;
+    private DuelsMatchClock frozen;
+
+    @Setup
+    public void setUp() {
+        DuelsTimeLeftLines.ensureCapacity(Duration.ofMinutes(5));
+        running = DuelsMatchClock.start(Duration.ofMinutes(5));
+        frozen = DuelsMatchClock.start(Duration.ofMinutes(5));
+        frozen.setFrozen(true);
+    }
+
+    @Benchmark
+    public Duration elapsed() {
+        return running.elapsed();
+    }
+
+    @Benchmark
+    public Duration remaining() {
+        return running.remaining();
+    }
+
+    @Benchmark
+    public long remainingMillis() {
+        return running.remainingMillis();
+    }
+
+    @Benchmark
+    public boolean isExpired() {
+        return running.isExpired();
+    }
+
+    @Benchmark
+    public String formatRemaining() {
+        return running.formatRemaining();
+    }
+
+    @Benchmark
+    public String formatRemainingFrozen() {
+        return frozen.formatRemaining();
+    }
+
+    @Benchmark
+    public Object timeLeftLines() {
+        return DuelsTimeLeftLines.lines(running);
+    }
+}
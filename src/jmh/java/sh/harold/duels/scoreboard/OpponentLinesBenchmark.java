@@ -0,0 +1,69 @@
+package sh.harold.duels.scoreboard;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * One opponent-module refresh: nearest-opponent pairing plus the arrow and line for every viewer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OpponentLinesBenchmark {
+    @Param({"2", "4", "8", "16"})
+    public int players;
+
+    private DuelsOpponentPairing pairing;
+    private String[] names;
+    private double[] health;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7L);
+        int[] teams = new int[players];
+        for (int i = 0; i < players; i++) {
+            teams[i] = i % 2;
+        }
+        pairing = new DuelsOpponentPairing(teams);
+        names = new String[players];
+        health = new double[players];
+        for (int i = 0; i < players; i++) {
+            pairing.place(i, random.nextDouble(-8D, 8D), 64D + random.nextDouble(-1D, 1D),
+                    random.nextDouble(-8D, 8D), (float) random.nextDouble(-180D, 180D), true);
+            names[i] = "&bPlayer" + i;
+            health[i] = random.nextDouble(0D, 20D);
+        }
+    }
+
+    @Benchmark
+    public void pairNearest(Blackhole blackhole) {
+        pairing.pairNearest();
+        blackhole.consume(pairing.nearestOpponent(0));
+    }
+
+    @Benchmark
+    public void buildLines(Blackhole blackhole) {
+        pairing.pairNearest();
+        for (int viewer = 0; viewer < players; viewer++) {
+            blackhole.consume(linesFor(viewer));
+        }
+    }
+
+    private List<String> linesFor(int viewer) {
+        int opponent = pairing.nearestOpponent(viewer);
+        if (opponent == DuelsOpponentPairing.NONE) {
+            return DuelsOpponentLines.SEARCHING_LINES;
+        }
+        return DuelsOpponentLines.render(pairing, viewer, opponent, names[opponent], health[opponent], 20D);
+    }
+}
@@ -0,0 +1,162 @@
+package sh.harold.duels.sumo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import sh.harold.duels.BenchmarkStandIns;
+
+/**
+ * Round ticks of the variants shipped in {@code config.yml}, from 1v1 to 8v8: every combatant's movement event,
+ * then the tie latch, fall check and outcome the judge runs in {@code onTick}. Each invocation plays one scripted
+ * match of {@link #MATCH_TICKS} ticks in which combatants cross the tie line, recover, latch ties and get
+ * eliminated, so the judge's full scans are measured and not only its early exits; results are per tick and include
+ * a {@code 1/MATCH_TICKS} share of building the match. Cost per player should stay flat as teams grow; the opponent
+ * module's share is measured by {@code OpponentLinesBenchmark} and the whole tick against a budget by
+ * {@code runSimulation}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LargeMatchTickBenchmark {
+    static final int MATCH_TICKS = 64;
+    private static final int SCRIPTS = 16;
+    private static final double ORIGIN_Y = 64D;
+    private static final SumoRoundJudge.Presence ROSTER_ACTIVE = index -> true;
+
+    @Param({"solo", "duos", "quads", "squads"})
+    public String variantId;
+
+    private final SumoHealthGuards healthGuards = new SumoHealthGuards();
+    private SumoVariant variant;
+    private SumoArena arena;
+    private SumoRoundJudge judge;
+    private UUID[] playerIds;
+    private int[] teamIndices;
+    private double[][] heights;
+    private Location[] spawns;
+    private int match;
+
+    @Setup
+    public void setUp() {
+        loadVariants();
+        variant = SumoVariant.fromId(variantId)
+                .orElseThrow(() -> new IllegalStateException("config.yml has no variant " + variantId));
+        int players = variant.maximumPlayers();
+        playerIds = new UUID[players];
+        teamIndices = new int[players];
+        for (int index = 0; index < players; index++) {
+            playerIds[index] = UUID.randomUUID();
+            teamIndices[index] = index % variant.teamCount();
+        }
+        arena = SumoArena.wholeWorld(UUID.randomUUID());
+        judge = new SumoRoundJudge(SumoFallDetection.EVENT_DRIVEN);
+        heights = new double[SCRIPTS][];
+        SplittableRandom random = new SplittableRandom(11L);
+        for (int script = 0; script < SCRIPTS; script++) {
+            heights[script] = script(random, script);
+        }
+        World world = BenchmarkStandIns.world("sumo_bench");
+        spawns = new Location[variant.teamCount()];
+        for (int teamIndex = 0; teamIndex < spawns.length; teamIndex++) {
+            double angle = 2D * Math.PI * teamIndex / spawns.length;
+            spawns[teamIndex] = new Location(world, Math.cos(angle) * 3D, ORIGIN_Y, Math.sin(angle) * 3D);
+        }
+    }
+
+    /**
+     * One scripted match: builds its tables, then runs {@link #MATCH_TICKS} round ticks over them.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MATCH_TICKS)
+    public void roundTick(Blackhole blackhole) {
+        SumoCombatantTable combatants = SumoCombatantTable.detached(variant.teamCount(), playerIds, teamIndices);
+        SumoMatchContext matchContext = new SumoMatchContext(variant, arena, ORIGIN_Y, Map.of(), combatants,
+                healthGuards, null);
+        double[] script = heights[match++ & (SCRIPTS - 1)];
+        int players = playerIds.length;
+        for (int tick = 0; tick < MATCH_TICKS; tick++) {
+            int row = tick * players;
+            for (int index = 0; index < players; index++) {
+                matchContext.trackPosition(playerIds[index], 0D, script[row + index], 0D);
+            }
+            judge.latchTieIfNeeded(matchContext, ROSTER_ACTIVE);
+            blackhole.consume(judge.eliminateFallen(matchContext, ROSTER_ACTIVE, combatants::eliminate));
+            blackhole.consume(judge.outcome(matchContext, ROSTER_ACTIVE));
+        }
+    }
+
+    /**
+     * The spawn slot assignment {@code preparePlayers} runs once per match before the start teleports.
+     */
+    @Benchmark
+    public Location[] assignSpawnSlots() {
+        SumoCombatantTable combatants = SumoCombatantTable.detached(variant.teamCount(), playerIds, teamIndices);
+        return SumoSpawnSlots.assign(combatants, spawns);
+    }
+
+    /**
+     * Heights by tick and combatant. Most combatants wobble on the platform; some dip past the tie line and climb
+     * back, and a few fall past the elimination line, more of them as the match goes on. Every fourth script sends
+     * two teams over the tie line on the same tick so the tie latch fires.
+     */
+    private double[] script(SplittableRandom random, int script) {
+        int players = playerIds.length;
+        double tieY = ORIGIN_Y - variant.tieThreshold();
+        double[] heights = new double[MATCH_TICKS * players];
+        int[] fallTick = new int[players];
+        int[] dipTick = new int[players];
+        for (int index = 0; index < players; index++) {
+            fallTick[index] = random.nextInt(3) == 0 ? random.nextInt(8, MATCH_TICKS) : Integer.MAX_VALUE;
+            dipTick[index] = random.nextInt(2) == 0 ? random.nextInt(MATCH_TICKS) : Integer.MAX_VALUE;
+        }
+        int tieTick = (script & 3) == 3 ? random.nextInt(8, MATCH_TICKS) : Integer.MAX_VALUE;
+        for (int tick = 0; tick < MATCH_TICKS; tick++) {
+            for (int index = 0; index < players; index++) {
+                double y = ORIGIN_Y + random.nextDouble(0D, 0.5D);
+                if (tick >= fallTick[index]) {
+                    // Drops straight past the tie line, then a block per tick until the elimination line.
+                    y = Math.min(tieY - 0.1D, ORIGIN_Y - (tick - fallTick[index] + 1));
+                } else if (tick >= dipTick[index] && tick < dipTick[index] + 3) {
+                    y = tieY - random.nextDouble(0.1D, 1D);
+                } else if (tick == tieTick && index < 2) {
+                    y = tieY - 0.5D;
+                }
+                heights[tick * players + index] = y;
+            }
+        }
+        return heights;
+    }
+
+    private static void loadVariants() {
+        InputStream stream = LargeMatchTickBenchmark.class.getResourceAsStream("/config.yml");
+        if (stream == null) {
+            throw new IllegalStateException("config.yml is not on the benchmark classpath");
+        }
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            YamlConfiguration config = YamlConfiguration.loadConfiguration(reader);
+            SumoVariant.load(config.getConfigurationSection("sumo"));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package sh.harold.duels.sumo;
+
+import com.google.gson.JsonObject;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sh.harold.duels.BenchmarkStandIns;
+
+/**
+ * Parsing a map's spawn template from POI maps of increasing size, where most POIs are not spawns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpawnLayoutBenchmark {
+    @Param({"2", "16", "128", "1024"})
+    public int pois;
+
+    private Map<Location, JsonObject> poiMap;
+    private SumoSpawnLayout layout;
+    private World world;
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkStandIns.world("sumo_bench");
+        poiMap = new LinkedHashMap<>();
+        for (int i = 0; i < pois; i++) {
+            JsonObject config = new JsonObject();
+            if (i < 2) {
+                config.addProperty("type", SumoRules.SPAWN_POI_TYPE);
+                config.addProperty("team", i == 0 ? "red" : "blue");
+                config.addProperty("yaw", i == 0 ? 0F : 180F);
+            } else {
+                config.addProperty("type", i % 3 == 0 ? "decoration" : "spectator");
+                config.addProperty("id", "poi-" + i);
+            }
+            poiMap.put(new Location(world, i * 4D, 64D, i % 2 == 0 ? 8D : -8D), config);
+        }
+        layout = SumoSpawnLayout.from(poiMap);
+    }
+
+    @Benchmark
+    public SumoSpawnLayout parse() {
+        return SumoSpawnLayout.from(poiMap);
+    }
+
+    @Benchmark
+    public Location resolveCached() {
+        return layout.resolve(world, "red", 0);
+    }
+}
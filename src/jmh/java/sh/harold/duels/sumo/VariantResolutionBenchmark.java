@@ -0,0 +1,51 @@
+package sh.harold.duels.sumo;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import sh.harold.duels.DuelsMatchSettings;
+
+/**
+ * Variant lookup the way matches do it: parsing slot metadata into {@link DuelsMatchSettings}, then resolving the
+ * variant from those settings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariantResolutionBenchmark {
+    private final Map<String, String> duos = Map.of(
+            "variant", "Duos", "team.count", "2", "team.max", "2", "mapId", "sumo_classic", "slotId", "mini12A");
+    private final Map<String, String> unknown = Map.of("variant", "octuples");
+    private final Map<String, String> empty = Map.of();
+    private final DuelsMatchSettings parsed = DuelsMatchSettings.parse(duos, null);
+
+    @Benchmark
+    public SumoVariant fromParsedSettings() {
+        return SumoVariant.fromSettings(parsed);
+    }
+
+    @Benchmark
+    public SumoVariant parseAndResolveKnown() {
+        return SumoVariant.fromSettings(DuelsMatchSettings.parse(duos, null));
+    }
+
+    @Benchmark
+    public SumoVariant parseAndResolveUnknown() {
+        return SumoVariant.fromSettings(DuelsMatchSettings.parse(unknown, null));
+    }
+
+    @Benchmark
+    public SumoVariant parseAndResolveEmpty() {
+        return SumoVariant.fromSettings(DuelsMatchSettings.parse(empty, null));
+    }
+
+    @Benchmark
+    public DuelsMatchSettings parseSettings() {
+        return DuelsMatchSettings.parse(duos, null);
+    }
+}
@@ -0,0 +1,43 @@
+package sh.harold.duels;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * File helpers shared by the module's stores and exporters.
+ */
+public final class DuelsFiles {
+    private DuelsFiles() {
+    }
+
+    /**
+     * Writes {@code target} through a sibling {@code .tmp} file that replaces it atomically where the file system
+     * allows, so readers never see a partial file. The temp file is removed if writing fails.
+     */
+    public static void writeAtomically(Path target, ContentWriter writer) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            writer.write(temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(Path temp) throws IOException;
+    }
+}
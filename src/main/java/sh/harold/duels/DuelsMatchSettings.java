@@ -0,0 +1,168 @@
+package sh.harold.duels;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import sh.harold.fulcrum.minigame.MinigameAttributes;
+import sh.harold.fulcrum.minigame.state.context.StateContext;
+
+/**
+ * Immutable, typed view of a slot's metadata, parsed once per match and shared as a context attribute.
+ */
+public final class DuelsMatchSettings {
+    public static final String VARIANT_KEY = "variant";
+    public static final String TEAM_COUNT_KEY = "team.count";
+    public static final String TEAM_MAX_KEY = "team.max";
+    public static final String ARENA_CELL_SIZE_KEY = "arena.cellSize";
+    public static final String MAP_POOL_KEY = "mapPool";
+
+    private static final String ATTRIBUTE = "duels.matchSettings";
+    private static final List<String> SLOT_ID_KEYS = List.of("slotId", "slot", "slotName");
+    private static final List<String> MAP_ID_KEYS = List.of("mapId", "map", "mapName");
+
+    private final Map<String, String> metadata;
+    private final String slotId;
+    private final String variantId;
+    private final Optional<String> mapId;
+    private final Optional<String> mapPool;
+    private final OptionalInt teamCount;
+    private final OptionalInt teamSize;
+    private final OptionalInt arenaCellSize;
+    private final List<String> validationErrors;
+
+    private DuelsMatchSettings(Map<String, String> metadata, String slotId, List<String> errors) {
+        this.metadata = Collections.unmodifiableMap(metadata);
+        this.slotId = slotId;
+        String variant = metadata.get(VARIANT_KEY);
+        this.variantId = variant == null ? "" : variant.toLowerCase(Locale.ROOT);
+        this.mapId = Optional.ofNullable(firstPresent(metadata, MAP_ID_KEYS))
+                .map(value -> value.toLowerCase(Locale.ROOT));
+        this.mapPool = Optional.ofNullable(metadata.get(MAP_POOL_KEY))
+                .map(value -> value.toLowerCase(Locale.ROOT));
+        this.teamCount = parsePositive(metadata, TEAM_COUNT_KEY, errors);
+        this.teamSize = parsePositive(metadata, TEAM_MAX_KEY, errors);
+        this.arenaCellSize = parsePositive(metadata, ARENA_CELL_SIZE_KEY, errors);
+        this.validationErrors = List.copyOf(errors);
+    }
+
+    /**
+     * Returns the match's settings, parsing the raw slot metadata on first use.
+     */
+    public static DuelsMatchSettings of(StateContext context) {
+        Optional<DuelsMatchSettings> existing = context.getAttributeOptional(ATTRIBUTE, DuelsMatchSettings.class);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Map<?, ?> raw = context.getAttributeOptional(MinigameAttributes.SLOT_METADATA, Map.class).orElse(Map.of());
+        String slotAttribute = context.getAttributeOptional(MinigameAttributes.SLOT_ID, String.class).orElse(null);
+        DuelsMatchSettings settings = parse(raw, slotAttribute);
+        context.setAttribute(ATTRIBUTE, settings);
+        return settings;
+    }
+
+    public static DuelsMatchSettings parse(Map<?, ?> raw, String slotAttribute) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        raw.forEach((key, value) -> {
+            if (key == null || value == null) {
+                return;
+            }
+            String stringKey = String.valueOf(key);
+            String stringValue = String.valueOf(value).trim();
+            if (!stringKey.isBlank() && !stringValue.isBlank()) {
+                metadata.put(stringKey, stringValue);
+            }
+        });
+        String slotId = slotAttribute == null ? "" : slotAttribute.trim();
+        if (slotId.isEmpty()) {
+            String fallback = firstPresent(metadata, SLOT_ID_KEYS);
+            slotId = fallback == null ? "" : fallback;
+        }
+        return new DuelsMatchSettings(metadata, slotId, new ArrayList<>());
+    }
+
+    public Map<String, String> metadata() {
+        return metadata;
+    }
+
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(metadata.get(key));
+    }
+
+    /**
+     * Slot identifier, or an empty string when neither the attribute nor the metadata carries one.
+     */
+    public String slotId() {
+        return slotId;
+    }
+
+    /**
+     * Lower-cased variant id, or an empty string when the slot does not request one.
+     */
+    public String variantId() {
+        return variantId;
+    }
+
+    public Optional<String> mapId() {
+        return mapId;
+    }
+
+    public Optional<String> mapPool() {
+        return mapPool;
+    }
+
+    public OptionalInt teamCount() {
+        return teamCount;
+    }
+
+    public OptionalInt teamSize() {
+        return teamSize;
+    }
+
+    /**
+     * Edge length of the square grid cell this match's arena occupies in a shared world; empty when the match has
+     * a world of its own.
+     */
+    public OptionalInt arenaCellSize() {
+        return arenaCellSize;
+    }
+
+    public List<String> validationErrors() {
+        return validationErrors;
+    }
+
+    public boolean isValid() {
+        return validationErrors.isEmpty();
+    }
+
+    private static String firstPresent(Map<String, String> metadata, List<String> keys) {
+        for (String key : keys) {
+            String value = metadata.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static OptionalInt parsePositive(Map<String, String> metadata, String key, List<String> errors) {
+        String value = metadata.get(key);
+        if (value == null) {
+            return OptionalInt.empty();
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return OptionalInt.of(parsed);
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below.
+        }
+        errors.add("'" + key + "' must be a positive integer but was '" + value + "'");
+        return OptionalInt.empty();
+    }
+}
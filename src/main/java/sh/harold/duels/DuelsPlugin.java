@@ -2,9 +2,21 @@ package sh.harold.duels;
 
 import java.util.Collection;
 import java.util.List;
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
 import org.bukkit.plugin.java.JavaPlugin;
+import sh.harold.duels.metrics.DuelsMetricsExporter;
+import sh.harold.duels.metrics.DuelsProfileCommand;
+import sh.harold.duels.rating.RatingEngine;
+import sh.harold.duels.results.MatchResultWriter;
+import sh.harold.duels.scoreboard.DuelsRefreshScheduler;
+import sh.harold.duels.stats.PlayerStatsCache;
+import sh.harold.duels.sumo.SumoArenaPool;
 import sh.harold.duels.sumo.SumoDamageListener;
+import sh.harold.duels.sumo.SumoFallIndex;
+import sh.harold.duels.sumo.SumoHealthGuards;
+import sh.harold.duels.sumo.SumoLayoutCache;
 import sh.harold.duels.sumo.SumoMinigame;
+import sh.harold.duels.sumo.SumoMovementListener;
 import sh.harold.fulcrum.api.module.ModuleInfo;
 import sh.harold.fulcrum.api.slot.SlotFamilyDescriptor;
 import sh.harold.fulcrum.minigame.MinigameEngine;
@@ -15,34 +27,66 @@ import sh.harold.fulcrum.minigame.MinigameRegistration;
 public final class DuelsPlugin extends JavaPlugin implements MinigameModule {
     public static final String MODULE_ID = "duels";
     public static final String MODULE_DESCRIPTION = "Multi-variant duels module";
-    private SlotFamilyDescriptor sumoFamily;
+    private final SumoFallIndex sumoFallIndex = new SumoFallIndex();
+    private final SumoHealthGuards sumoHealthGuards = new SumoHealthGuards();
+    private final SumoLayoutCache sumoLayoutCache = new SumoLayoutCache();
+    private final SumoArenaPool sumoArenaPool = new SumoArenaPool();
+    private List<SlotFamilyDescriptor> sumoFamilies;
 
     @Override
     public void onEnable() {
         getLogger().info("Duels module loaded");
-        getServer().getPluginManager().registerEvents(new SumoDamageListener(), this);
+        DuelsServices.start(this);
+        DuelsRefreshScheduler.start(this);
+        DuelsMetricsExporter.start(this);
+        MatchResultWriter.start(this);
+        PlayerStatsCache.start(this);
+        RatingEngine.start(this);
+        sumoArenaPool.start(this, getConfig().getConfigurationSection("sumo.arena-pool"));
+        getServer().getPluginManager().registerEvents(new SumoDamageListener(sumoHealthGuards), this);
+        getServer().getPluginManager().registerEvents(new SumoMovementListener(sumoFallIndex), this);
+        getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, event -> event.registrar().register(
+                DuelsProfileCommand.LABEL, "Shows per-phase duels tick timings", new DuelsProfileCommand()));
     }
 
     @Override
     public void onDisable() {
+        sumoLayoutCache.invalidateAll();
+        sumoArenaPool.stop();
+        MatchResultWriter.stop();
+        PlayerStatsCache.stop();
+        RatingEngine.stop();
+        DuelsMetricsExporter.stop();
+        DuelsRefreshScheduler.stop();
+        DuelsServices.stop();
         getLogger().info("Duels module disabled");
     }
 
     @Override
     public Collection<SlotFamilyDescriptor> getSlotFamilies() {
-        return List.of(getSumoFamily());
+        return getSumoFamilies();
     }
 
     @Override
     public Collection<MinigameRegistration> registerMinigames(MinigameEngine engine) {
-        return List.of(SumoMinigame.createRegistration(this, getSumoFamily()));
+        return SumoMinigame.createRegistrations(this, getSumoFamilies(), sumoFallIndex, sumoHealthGuards,
+                sumoLayoutCache, sumoArenaPool);
     }
 
-    private SlotFamilyDescriptor getSumoFamily() {
-        if (sumoFamily == null) {
-            sumoFamily = SumoMinigame.createDescriptor();
+    private List<SlotFamilyDescriptor> getSumoFamilies() {
+        if (sumoFamilies == null) {
+            loadSumoVariants();
+            sumoFamilies = List.copyOf(SumoMinigame.createDescriptors());
+        }
+        return sumoFamilies;
+    }
+
+    private void loadSumoVariants() {
+        // Fulcrum may ask for slot families before onEnable, so variants load with the first descriptor.
+        saveDefaultConfig();
+        for (String problem : SumoMinigame.loadVariants(getConfig().getConfigurationSection("sumo"))) {
+            getLogger().warning(problem);
         }
-        return sumoFamily;
     }
 
 }
@@ -0,0 +1,214 @@
+package sh.harold.duels;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import sh.harold.fulcrum.api.message.scoreboard.ScoreboardService;
+import sh.harold.fulcrum.api.world.poi.POIRegistry;
+import sh.harold.fulcrum.fundamentals.actionflag.ActionFlagService;
+import sh.harold.fulcrum.lifecycle.ServiceLocatorImpl;
+
+/**
+ * Fulcrum service handles resolved once at enable and re-resolved whenever services or plugins come and go.
+ */
+public final class DuelsServices {
+    private static final long RETRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile DuelsServices instance;
+
+    private final JavaPlugin plugin;
+    private final Listener listener = new LifecycleListener();
+    private volatile Handle<ScoreboardService> scoreboard;
+    private volatile Handle<ActionFlagService> actionFlags;
+    private volatile Handle<POIRegistry> poiRegistry;
+    private volatile long lastRefreshNanos;
+
+    private DuelsServices(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.scoreboard = Handle.unavailable(ScoreboardService.class, "not resolved yet");
+        this.actionFlags = Handle.unavailable(ActionFlagService.class, "not resolved yet");
+        this.poiRegistry = Handle.unavailable(POIRegistry.class, "not resolved yet");
+    }
+
+    public static void start(JavaPlugin plugin) {
+        Objects.requireNonNull(plugin, "plugin");
+        if (instance != null) {
+            return;
+        }
+        DuelsServices services = new DuelsServices(plugin);
+        services.refresh();
+        plugin.getServer().getPluginManager().registerEvents(services.listener, plugin);
+        instance = services;
+    }
+
+    public static void stop() {
+        DuelsServices services = instance;
+        if (services != null) {
+            HandlerList.unregisterAll(services.listener);
+            instance = null;
+        }
+    }
+
+    public static Handle<ScoreboardService> scoreboard() {
+        DuelsServices services = instance;
+        if (services == null) {
+            return Handle.unavailable(ScoreboardService.class, "duels services not started");
+        }
+        services.retryIfMissing(services.scoreboard);
+        return services.scoreboard;
+    }
+
+    public static Handle<ActionFlagService> actionFlags() {
+        DuelsServices services = instance;
+        if (services == null) {
+            return Handle.unavailable(ActionFlagService.class, "duels services not started");
+        }
+        services.retryIfMissing(services.actionFlags);
+        return services.actionFlags;
+    }
+
+    public static Handle<POIRegistry> poiRegistry() {
+        DuelsServices services = instance;
+        if (services == null) {
+            return Handle.unavailable(POIRegistry.class, "duels services not started");
+        }
+        services.retryIfMissing(services.poiRegistry);
+        return services.poiRegistry;
+    }
+
+    private void retryIfMissing(Handle<?> handle) {
+        // Fulcrum does not always announce its services through Bukkit, so a miss re-resolves at most once a second.
+        if (!handle.isAvailable() && System.nanoTime() - lastRefreshNanos >= RETRY_INTERVAL_NANOS) {
+            refresh();
+        }
+    }
+
+    private synchronized void refresh() {
+        lastRefreshNanos = System.nanoTime();
+        ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
+        scoreboard = swap(scoreboard, resolve(locator, ScoreboardService.class));
+        actionFlags = swap(actionFlags, resolve(locator, ActionFlagService.class));
+        poiRegistry = swap(poiRegistry, resolve(locator, POIRegistry.class));
+    }
+
+    /**
+     * The disable event fires before the owner unregisters its services, so drop handles by class loader instead.
+     */
+    private synchronized void dropServicesOf(ClassLoader owner, String pluginName) {
+        lastRefreshNanos = System.nanoTime();
+        String reason = pluginName + " disabled";
+        scoreboard = swap(scoreboard, dropIfOwned(scoreboard, owner, reason));
+        actionFlags = swap(actionFlags, dropIfOwned(actionFlags, owner, reason));
+        poiRegistry = swap(poiRegistry, dropIfOwned(poiRegistry, owner, reason));
+    }
+
+    private <T> Handle<T> dropIfOwned(Handle<T> handle, ClassLoader owner, String reason) {
+        if (handle.isAvailable() && handle.service.getClass().getClassLoader() == owner) {
+            return Handle.unavailable(handle.type, reason);
+        }
+        return handle;
+    }
+
+    private <T> Handle<T> resolve(ServiceLocatorImpl locator, Class<T> type) {
+        if (locator == null) {
+            return Handle.unavailable(type, "service locator unavailable");
+        }
+        return locator.findService(type)
+                .map(service -> Handle.of(type, service))
+                .orElseGet(() -> Handle.unavailable(type, "not registered"));
+    }
+
+    private <T> Handle<T> swap(Handle<T> previous, Handle<T> next) {
+        if (previous.service == next.service) {
+            return previous;
+        }
+        Logger logger = plugin.getLogger();
+        if (next.isAvailable()) {
+            logger.info("Resolved " + next.type.getSimpleName());
+        } else if (previous.isAvailable()) {
+            logger.warning(next.type.getSimpleName() + " became unavailable: " + next.reason);
+        }
+        return next;
+    }
+
+    /**
+     * Immutable snapshot of one service: either the live instance or the reason it is missing.
+     */
+    public static final class Handle<T> {
+        private final Class<T> type;
+        private final T service;
+        private final String reason;
+
+        private Handle(Class<T> type, T service, String reason) {
+            this.type = type;
+            this.service = service;
+            this.reason = reason;
+        }
+
+        static <T> Handle<T> of(Class<T> type, T service) {
+            return new Handle<>(type, service, null);
+        }
+
+        static <T> Handle<T> unavailable(Class<T> type, String reason) {
+            return new Handle<>(type, null, reason);
+        }
+
+        public boolean isAvailable() {
+            return service != null;
+        }
+
+        /**
+         * Returns the service or fails with {@link IllegalStateException} naming why it is unavailable.
+         */
+        public T require() {
+            if (service == null) {
+                throw new IllegalStateException(type.getSimpleName() + " service unavailable (" + reason + ")");
+            }
+            return service;
+        }
+
+        public void ifAvailable(Consumer<? super T> action) {
+            if (service != null) {
+                action.accept(service);
+            }
+        }
+
+        public String unavailableReason() {
+            return reason == null ? "" : reason;
+        }
+    }
+
+    private final class LifecycleListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onServiceRegister(ServiceRegisterEvent event) {
+            refresh();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onServiceUnregister(ServiceUnregisterEvent event) {
+            refresh();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginEnable(PluginEnableEvent event) {
+            refresh();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(PluginDisableEvent event) {
+            if (event.getPlugin() != plugin) {
+                dropServicesOf(event.getPlugin().getClass().getClassLoader(), event.getPlugin().getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package sh.harold.duels;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.entity.Player;
+import sh.harold.fulcrum.api.rank.Rank;
+import sh.harold.fulcrum.api.rank.RankUtils;
+import sh.harold.fulcrum.minigame.state.context.StateContext;
+import sh.harold.fulcrum.minigame.team.MatchTeam;
+
+/**
+ * Match-scoped cache of rank-colored player names shared by the scoreboard and the outcome titles. A name is
+ * resolved once per match unless {@link #invalidate(StateContext, UUID)} drops it.
+ */
+public final class MatchDisplayNames {
+    private static final String ATTRIBUTE = "duels.displayNames";
+    private static final LegacyComponentSerializer LEGACY_SERIALIZER =
+            LegacyComponentSerializer.legacySection();
+
+    private final Map<UUID, DisplayName> names = new ConcurrentHashMap<>();
+
+    private MatchDisplayNames() {
+    }
+
+    public static MatchDisplayNames populate(StateContext context) {
+        Objects.requireNonNull(context, "context");
+        MatchDisplayNames cache = new MatchDisplayNames();
+        for (MatchTeam team : context.teams().teams()) {
+            for (UUID memberId : team.members()) {
+                context.findPlayer(memberId).ifPresent(cache::get);
+            }
+        }
+        context.setAttribute(ATTRIBUTE, cache);
+        return cache;
+    }
+
+    public static Optional<MatchDisplayNames> find(StateContext context) {
+        return context == null ? Optional.empty()
+                : context.getAttributeOptional(ATTRIBUTE, MatchDisplayNames.class);
+    }
+
+    public static void release(StateContext context) {
+        find(context).ifPresent(cache -> cache.names.clear());
+        context.removeAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * Rank change hook: a listener for rank updates calls this for the player's match, and the next read
+     * re-resolves the name with the new rank color.
+     */
+    public static void invalidate(StateContext context, UUID playerId) {
+        find(context).ifPresent(cache -> cache.invalidate(playerId));
+    }
+
+    public void invalidate(UUID playerId) {
+        names.remove(playerId);
+    }
+
+    public DisplayName get(Player player) {
+        DisplayName cached = names.get(player.getUniqueId());
+        if (cached != null) {
+            return cached;
+        }
+        DisplayName resolved = resolve(player);
+        names.put(player.getUniqueId(), resolved);
+        return resolved;
+    }
+
+    public static DisplayName resolve(Player player) {
+        Rank rank = RankUtils.getEffectiveRank(player);
+        NamedTextColor color = rank != null && rank.getNameColor() != null
+                ? rank.getNameColor()
+                : NamedTextColor.WHITE;
+        Component component = Component.text(player.getName(), color);
+        String legacy = LEGACY_SERIALIZER.serialize(component).replace('\u00A7', '&');
+        return new DisplayName(component, legacy);
+    }
+
+    public record DisplayName(Component component, String legacy) {
+    }
+}
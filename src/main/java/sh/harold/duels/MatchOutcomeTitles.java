@@ -1,19 +1,12 @@
 package sh.harold.duels;
 
 import java.time.Duration;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
+import java.util.List;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.title.Title;
 import org.bukkit.entity.Player;
-import sh.harold.fulcrum.api.rank.Rank;
-import sh.harold.fulcrum.api.rank.RankUtils;
-import sh.harold.fulcrum.minigame.state.context.StateContext;
 import sh.harold.fulcrum.minigame.team.MatchTeam;
 
 public final class MatchOutcomeTitles {
@@ -23,38 +16,25 @@ public final class MatchOutcomeTitles {
     private MatchOutcomeTitles() {
     }
 
-    public static void showOutcome(StateContext context, MatchTeam winningTeam) {
-        Set<UUID> winners = new HashSet<>(winningTeam.members());
-
-        Component subtitle = buildSubtitle(context, winningTeam);
+    public static void showOutcome(MatchDisplayNames names, MatchTeam winningTeam,
+                                   List<Player> winners, List<Player> losers) {
+        Component subtitle = buildSubtitle(names, winningTeam, winners);
         Title victoryTitle = createVictoryTitle(subtitle);
         Title defeatTitle = createDefeatTitle(subtitle);
 
-        context.teams().teams().forEach(team -> team.members().forEach(memberId ->
-                context.findPlayer(memberId).ifPresent(player -> {
-                    if (winners.contains(memberId)) {
-                        player.showTitle(victoryTitle);
-                    } else {
-                        player.showTitle(defeatTitle);
-                    }
-                })));
+        winners.forEach(player -> player.showTitle(victoryTitle));
+        losers.forEach(player -> player.showTitle(defeatTitle));
     }
 
-    public static void showTie(StateContext context) {
+    public static void showTie(List<Player> players) {
         Title tieTitle = createTieTitle();
-        context.teams().teams()
-                .forEach(team -> team.members()
-                        .forEach(memberId -> context.findPlayer(memberId)
-                                .ifPresent(player -> player.showTitle(tieTitle))));
+        players.forEach(player -> player.showTitle(tieTitle));
     }
 
-    private static Component buildSubtitle(StateContext context, MatchTeam winningTeam) {
-        Component winnerComponent = winningTeam.members().stream()
-                .map(context::findPlayer)
-                .flatMap(Optional::stream)
-                .findFirst()
-                .map(MatchOutcomeTitles::buildPlayerComponent)
-                .orElse(Component.text(winningTeam.getId(), NamedTextColor.WHITE));
+    private static Component buildSubtitle(MatchDisplayNames names, MatchTeam winningTeam, List<Player> winners) {
+        Component winnerComponent = winners.isEmpty()
+                ? Component.text(winningTeam.getId(), NamedTextColor.WHITE)
+                : names.get(winners.get(0)).component();
 
         return Component.text()
                 .append(winnerComponent)
@@ -62,19 +42,6 @@ public final class MatchOutcomeTitles {
                 .build();
     }
 
-    private static Component buildPlayerComponent(Player player) {
-        TextColor nameColor = resolveNameColor(player);
-        return Component.text(player.getName()).color(nameColor);
-    }
-
-    private static TextColor resolveNameColor(Player player) {
-        Rank rank = RankUtils.getEffectiveRank(player);
-        if (rank != null && rank.getNameColor() != null) {
-            return rank.getNameColor();
-        }
-        return NamedTextColor.WHITE;
-    }
-
     private static Title createVictoryTitle(Component subtitle) {
         Component title = Component.text("VICTORY!", NamedTextColor.GREEN).decorate(TextDecoration.BOLD);
         return Title.title(title, subtitle, MATCH_DECISION_TIMES);
@@ -0,0 +1,167 @@
+package sh.harold.duels.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Module-wide counters. Every update lands on a striped {@link LongAdder}, so the main thread never contends with
+ * the exporter reading them.
+ */
+public final class DuelsMetrics {
+    private static final Map<String, LongAdder> ACTIVE_BY_VARIANT = new ConcurrentHashMap<>();
+    private static final LongAdder MATCH_STARTS = new LongAdder();
+    private static final LongAdder MATCH_ENDS = new LongAdder();
+    private static final LongAdder MATCH_TIES = new LongAdder();
+    private static final LongAdder MATCH_DURATION_MILLIS = new LongAdder();
+    private static final LongAdder SCOREBOARD_REFRESHES = new LongAdder();
+    private static final LongAdder ELIMINATIONS = new LongAdder();
+    private static final LongAdder ARENA_POOL_HITS = new LongAdder();
+    private static final LongAdder ARENA_COLD_PROVISIONS = new LongAdder();
+    private static final LongAdder WARM_ARENAS = new LongAdder();
+    private static final LongAdder ROUND_TICKS = new LongAdder();
+    private static final LongAdder ROUND_TICK_NANOS = new LongAdder();
+    private static final AtomicReference<DuelsTickHistogram> ROUND_TICK_WINDOW =
+            new AtomicReference<>(new DuelsTickHistogram());
+
+    private static volatile DuelsTickHistogram lastRoundTickWindow = new DuelsTickHistogram();
+
+    private DuelsMetrics() {
+    }
+
+    public static void matchStarted(String variantId) {
+        MATCH_STARTS.increment();
+        ACTIVE_BY_VARIANT.computeIfAbsent(variantId, ignored -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records a decided match; {@code durationMillis} is the played time from the match clock.
+     */
+    public static void matchConcluded(long durationMillis, boolean tie) {
+        MATCH_ENDS.increment();
+        if (tie) {
+            MATCH_TIES.increment();
+        }
+        MATCH_DURATION_MILLIS.add(Math.max(0L, durationMillis));
+    }
+
+    /**
+     * Called once per started match when its state is torn down, decided or not.
+     */
+    public static void matchClosed(String variantId) {
+        LongAdder active = ACTIVE_BY_VARIANT.get(variantId);
+        if (active != null) {
+            active.decrement();
+        }
+    }
+
+    public static void scoreboardRefreshed() {
+        SCOREBOARD_REFRESHES.increment();
+    }
+
+    public static void playerEliminated() {
+        ELIMINATIONS.increment();
+    }
+
+    /**
+     * A match started in an arena the pool had kept loaded; {@link #arenaProvisionedCold()} otherwise.
+     */
+    public static void arenaPoolHit() {
+        ARENA_POOL_HITS.increment();
+    }
+
+    public static void arenaProvisionedCold() {
+        ARENA_COLD_PROVISIONS.increment();
+    }
+
+    /**
+     * Adjusts the number of idle arenas held loaded by the pool.
+     */
+    public static void warmArenasChanged(int delta) {
+        WARM_ARENAS.add(delta);
+    }
+
+    /**
+     * Always-on timing of one match's round tick, independent of {@link DuelsTickProfiler}.
+     */
+    public static void roundTicked(long nanos) {
+        ROUND_TICKS.increment();
+        ROUND_TICK_NANOS.add(nanos);
+        ROUND_TICK_WINDOW.get().record(nanos);
+    }
+
+    /**
+     * Closes the current round-tick window; called by the exporter once per window.
+     */
+    static void rotateRoundTickWindow() {
+        lastRoundTickWindow = ROUND_TICK_WINDOW.getAndSet(new DuelsTickHistogram());
+    }
+
+    /**
+     * Round-tick timings of the last closed window, or of the open one until a window has closed.
+     */
+    public static DuelsTickHistogram roundTickWindow() {
+        DuelsTickHistogram last = lastRoundTickWindow;
+        return last.count() > 0L ? last : ROUND_TICK_WINDOW.get();
+    }
+
+    public static long roundTicks() {
+        return ROUND_TICKS.sum();
+    }
+
+    public static long roundTickNanos() {
+        return ROUND_TICK_NANOS.sum();
+    }
+
+    public static Map<String, Long> activeMatchesByVariant() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        ACTIVE_BY_VARIANT.forEach((variant, count) -> snapshot.put(variant, count.sum()));
+        return snapshot;
+    }
+
+    public static long activeMatches() {
+        long total = 0L;
+        for (LongAdder count : ACTIVE_BY_VARIANT.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public static long matchStarts() {
+        return MATCH_STARTS.sum();
+    }
+
+    public static long matchEnds() {
+        return MATCH_ENDS.sum();
+    }
+
+    public static long matchTies() {
+        return MATCH_TIES.sum();
+    }
+
+    public static long matchDurationMillis() {
+        return MATCH_DURATION_MILLIS.sum();
+    }
+
+    public static long scoreboardRefreshes() {
+        return SCOREBOARD_REFRESHES.sum();
+    }
+
+    public static long eliminations() {
+        return ELIMINATIONS.sum();
+    }
+
+    public static long arenaPoolHits() {
+        return ARENA_POOL_HITS.sum();
+    }
+
+    public static long arenaColdProvisions() {
+        return ARENA_COLD_PROVISIONS.sum();
+    }
+
+    public static long warmArenas() {
+        return WARM_ARENAS.sum();
+    }
+}
@@ -0,0 +1,275 @@
+package sh.harold.duels.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import sh.harold.duels.DuelsFiles;
+
+/**
+ * Publishes {@link DuelsMetrics} as a JMX MXBean and as a Prometheus text file for the node exporter's textfile
+ * collector. Sampling and file writes run off the main thread.
+ */
+public final class DuelsMetricsExporter implements DuelsMetricsMXBean {
+    public static final String OBJECT_NAME = "sh.harold.duels:type=Metrics";
+
+    private static final int WINDOW_SECONDS = 60;
+    private static final int WRITE_EVERY_SECONDS = 15;
+    private static final int STARTS = 0;
+    private static final int ENDS = 1;
+    private static final int TIES = 2;
+    private static final int REFRESHES = 3;
+    private static final int ELIMINATIONS = 4;
+    private static final int COUNTERS = 5;
+
+    private static DuelsMetricsExporter instance;
+
+    private final JavaPlugin plugin;
+    private final Path outputFile;
+    private final long[][] window = new long[WINDOW_SECONDS + 1][COUNTERS];
+    private final BukkitTask task;
+    private ObjectName objectName;
+    private int cursor;
+    private int filled;
+    private int secondsSinceWrite;
+    private int secondsSinceRotate;
+
+    private DuelsMetricsExporter(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.outputFile = plugin.getDataFolder().toPath().resolve("metrics").resolve("duels.prom");
+        sample();
+        this.task = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::tick, 20L, 20L);
+    }
+
+    public static void start(JavaPlugin plugin) {
+        if (instance != null) {
+            return;
+        }
+        instance = new DuelsMetricsExporter(plugin);
+        instance.registerMBean();
+    }
+
+    public static void stop() {
+        if (instance == null) {
+            return;
+        }
+        instance.task.cancel();
+        instance.unregisterMBean();
+        instance.writeTextFile();
+        instance = null;
+    }
+
+    private void registerMBean() {
+        try {
+            objectName = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException ex) {
+            plugin.getLogger().log(Level.WARNING, "Unable to register duels metrics MBean", ex);
+            objectName = null;
+        }
+    }
+
+    private void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException ex) {
+            plugin.getLogger().log(Level.FINE, "Duels metrics MBean already unregistered", ex);
+        }
+    }
+
+    private void tick() {
+        sample();
+        if (++secondsSinceRotate >= WINDOW_SECONDS) {
+            secondsSinceRotate = 0;
+            DuelsMetrics.rotateRoundTickWindow();
+        }
+        if (++secondsSinceWrite >= WRITE_EVERY_SECONDS) {
+            secondsSinceWrite = 0;
+            writeTextFile();
+        }
+    }
+
+    private synchronized void sample() {
+        cursor = (cursor + 1) % window.length;
+        long[] totals = window[cursor];
+        totals[STARTS] = DuelsMetrics.matchStarts();
+        totals[ENDS] = DuelsMetrics.matchEnds();
+        totals[TIES] = DuelsMetrics.matchTies();
+        totals[REFRESHES] = DuelsMetrics.scoreboardRefreshes();
+        totals[ELIMINATIONS] = DuelsMetrics.eliminations();
+        filled = Math.min(filled + 1, window.length);
+    }
+
+    private synchronized double perSecond(int counter) {
+        int seconds = filled - 1;
+        if (seconds <= 0) {
+            return 0D;
+        }
+        int oldest = Math.floorMod(cursor - seconds, window.length);
+        return (window[cursor][counter] - window[oldest][counter]) / (double) seconds;
+    }
+
+    private synchronized void writeTextFile() {
+        try {
+            String content = renderTextFormat();
+            DuelsFiles.writeAtomically(outputFile, temp -> Files.writeString(temp, content, StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "Unable to write duels metrics to " + outputFile, ex);
+        }
+    }
+
+    String renderTextFormat() {
+        StringBuilder out = new StringBuilder(1024);
+        header(out, "duels_active_matches", "gauge", "Matches currently running, by variant.");
+        DuelsMetrics.activeMatchesByVariant().forEach((variant, count) -> out.append("duels_active_matches{variant=\"")
+                .append(variant).append("\"} ").append(count).append('\n'));
+        counter(out, "duels_match_starts_total", "Matches started.", DuelsMetrics.matchStarts());
+        counter(out, "duels_match_ends_total", "Matches decided, ties included.", DuelsMetrics.matchEnds());
+        counter(out, "duels_match_ties_total", "Matches decided as a tie.", DuelsMetrics.matchTies());
+        header(out, "duels_match_duration_seconds", "summary", "Played time of decided matches.");
+        out.append("duels_match_duration_seconds_sum ")
+                .append(format(DuelsMetrics.matchDurationMillis() / 1_000D)).append('\n');
+        out.append("duels_match_duration_seconds_count ").append(DuelsMetrics.matchEnds()).append('\n');
+        counter(out, "duels_scoreboard_refreshes_total", "Scoreboard updates pushed to players.",
+                DuelsMetrics.scoreboardRefreshes());
+        counter(out, "duels_eliminations_total", "Players eliminated.", DuelsMetrics.eliminations());
+        counter(out, "duels_arena_pool_hits_total", "Matches started in an arena the pool kept loaded.",
+                DuelsMetrics.arenaPoolHits());
+        counter(out, "duels_arena_cold_provisions_total", "Matches started in an arena that was not pooled.",
+                DuelsMetrics.arenaColdProvisions());
+        header(out, "duels_arena_pool_warm", "gauge", "Idle arenas held loaded for the next match.");
+        out.append("duels_arena_pool_warm ").append(DuelsMetrics.warmArenas()).append('\n');
+
+        DuelsTickHistogram roundTicks = DuelsMetrics.roundTickWindow();
+        header(out, "duels_round_tick_seconds", "summary",
+                "Time spent in one match's round tick; quantiles cover the last minute.");
+        for (double quantile : new double[]{0.5D, 0.99D, 0.999D}) {
+            out.append("duels_round_tick_seconds{quantile=\"").append(quantile).append("\"} ")
+                    .append(format(roundTicks.percentileNanos(quantile * 100D) / 1_000_000_000D)).append('\n');
+        }
+        out.append("duels_round_tick_seconds_sum ")
+                .append(format(DuelsMetrics.roundTickNanos() / 1_000_000_000D)).append('\n');
+        out.append("duels_round_tick_seconds_count ").append(DuelsMetrics.roundTicks()).append('\n');
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, "counter", help);
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    @Override
+    public long getActiveMatches() {
+        return DuelsMetrics.activeMatches();
+    }
+
+    @Override
+    public Map<String, Long> getActiveMatchesByVariant() {
+        return DuelsMetrics.activeMatchesByVariant();
+    }
+
+    @Override
+    public long getMatchStartsTotal() {
+        return DuelsMetrics.matchStarts();
+    }
+
+    @Override
+    public long getMatchEndsTotal() {
+        return DuelsMetrics.matchEnds();
+    }
+
+    @Override
+    public long getMatchTiesTotal() {
+        return DuelsMetrics.matchTies();
+    }
+
+    @Override
+    public double getMatchStartsPerMinute() {
+        return perSecond(STARTS) * 60D;
+    }
+
+    @Override
+    public double getMatchEndsPerMinute() {
+        return perSecond(ENDS) * 60D;
+    }
+
+    @Override
+    public double getMatchTiesPerMinute() {
+        return perSecond(TIES) * 60D;
+    }
+
+    @Override
+    public double getAverageMatchDurationSeconds() {
+        long ends = DuelsMetrics.matchEnds();
+        return ends == 0L ? 0D : DuelsMetrics.matchDurationMillis() / 1_000D / ends;
+    }
+
+    @Override
+    public double getScoreboardRefreshesPerSecond() {
+        return perSecond(REFRESHES);
+    }
+
+    @Override
+    public double getEliminationsPerSecond() {
+        return perSecond(ELIMINATIONS);
+    }
+
+    @Override
+    public long getArenaPoolHitsTotal() {
+        return DuelsMetrics.arenaPoolHits();
+    }
+
+    @Override
+    public long getArenaColdProvisionsTotal() {
+        return DuelsMetrics.arenaColdProvisions();
+    }
+
+    @Override
+    public long getWarmArenas() {
+        return DuelsMetrics.warmArenas();
+    }
+
+    @Override
+    public double getTickTimeP50Millis() {
+        return roundTickPercentileMillis(50D);
+    }
+
+    @Override
+    public double getTickTimeP99Millis() {
+        return roundTickPercentileMillis(99D);
+    }
+
+    @Override
+    public double getTickTimeP999Millis() {
+        return roundTickPercentileMillis(99.9D);
+    }
+
+    private static double roundTickPercentileMillis(double percentile) {
+        return DuelsMetrics.roundTickWindow().percentileNanos(percentile) / 1_000_000D;
+    }
+}
@@ -0,0 +1,43 @@
+package sh.harold.duels.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link DuelsMetrics}, registered as {@value DuelsMetricsExporter#OBJECT_NAME}. Rates are averaged
+ * over the last minute.
+ */
+public interface DuelsMetricsMXBean {
+    long getActiveMatches();
+
+    Map<String, Long> getActiveMatchesByVariant();
+
+    long getMatchStartsTotal();
+
+    long getMatchEndsTotal();
+
+    long getMatchTiesTotal();
+
+    double getMatchStartsPerMinute();
+
+    double getMatchEndsPerMinute();
+
+    double getMatchTiesPerMinute();
+
+    double getAverageMatchDurationSeconds();
+
+    double getScoreboardRefreshesPerSecond();
+
+    double getEliminationsPerSecond();
+
+    long getArenaPoolHitsTotal();
+
+    long getArenaColdProvisionsTotal();
+
+    long getWarmArenas();
+
+    double getTickTimeP50Millis();
+
+    double getTickTimeP99Millis();
+
+    double getTickTimeP999Millis();
+}
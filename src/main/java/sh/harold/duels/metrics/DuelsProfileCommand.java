@@ -0,0 +1,89 @@
+package sh.harold.duels.metrics;
+
+import io.papermc.paper.command.brigadier.BasicCommand;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+/**
+ * {@code /duelsprofile [on|off|reset|show]} - toggles the tick profiler and prints per-phase percentiles.
+ */
+public final class DuelsProfileCommand implements BasicCommand {
+    public static final String LABEL = "duelsprofile";
+    public static final String PERMISSION = "duels.admin.profile";
+    private static final List<String> SUBCOMMANDS = List.of("on", "off", "reset", "show");
+    private static final double TICK_NANOS = 50_000_000D;
+
+    @Override
+    public void execute(CommandSourceStack source, String[] args) {
+        CommandSender sender = source.getSender();
+        String action = args.length == 0 ? "show" : args[0].toLowerCase(Locale.ROOT);
+        switch (action) {
+            case "on" -> {
+                DuelsTickProfiler.setEnabled(true);
+                sender.sendMessage(ChatColor.GREEN + "Duels tick profiler enabled.");
+            }
+            case "off" -> {
+                DuelsTickProfiler.setEnabled(false);
+                sender.sendMessage(ChatColor.YELLOW + "Duels tick profiler disabled; samples are kept until reset.");
+            }
+            case "reset" -> {
+                DuelsTickProfiler.reset();
+                sender.sendMessage(ChatColor.GREEN + "Duels tick profiler samples cleared.");
+            }
+            case "show" -> show(sender);
+            default -> sender.sendMessage(ChatColor.RED + "Usage: /" + LABEL + " <" + String.join("|", SUBCOMMANDS)
+                    + ">");
+        }
+    }
+
+    @Override
+    public Collection<String> suggest(CommandSourceStack source, String[] args) {
+        if (args.length > 1) {
+            return List.of();
+        }
+        String prefix = args.length == 0 ? "" : args[0].toLowerCase(Locale.ROOT);
+        return SUBCOMMANDS.stream().filter(option -> option.startsWith(prefix)).toList();
+    }
+
+    @Override
+    public String permission() {
+        return PERMISSION;
+    }
+
+    private void show(CommandSender sender) {
+        long window = DuelsTickProfiler.windowNanos();
+        sender.sendMessage(ChatColor.GOLD + "Duels tick profile " + ChatColor.GRAY
+                + (DuelsTickProfiler.isEnabled()
+                ? String.format(Locale.ROOT, "(%.1fs window, times in µs)", window / 1_000_000_000D)
+                : "(disabled)"));
+        boolean any = false;
+        for (DuelsTickPhase phase : DuelsTickPhase.values()) {
+            DuelsTickHistogram histogram = DuelsTickProfiler.histogram(phase);
+            if (histogram.count() == 0L) {
+                continue;
+            }
+            any = true;
+            double perTick = window > 0L ? histogram.totalNanos() / (window / TICK_NANOS) : 0D;
+            sender.sendMessage(ChatColor.YELLOW + phase.label() + ChatColor.GRAY + String.format(Locale.ROOT,
+                    " n=%d mean=%s p50=%s p99=%s p99.9=%s max=%s per-tick=%s",
+                    histogram.count(),
+                    micros(histogram.meanNanos()),
+                    micros(histogram.percentileNanos(50D)),
+                    micros(histogram.percentileNanos(99D)),
+                    micros(histogram.percentileNanos(99.9D)),
+                    micros(histogram.maxNanos()),
+                    micros(perTick)));
+        }
+        if (!any) {
+            sender.sendMessage(ChatColor.GRAY + "No samples yet. Use /" + LABEL + " on to start profiling.");
+        }
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000D);
+    }
+}
@@ -0,0 +1,27 @@
+package sh.harold.duels.metrics;
+
+/**
+ * Timed sections of a duels server tick. Phases nest: {@link #ROUND_TICK} contains the round phases, and
+ * {@link #FALL_DETECTION} includes any {@link #ELIMINATION} it triggers.
+ */
+public enum DuelsTickPhase {
+    ROUND_TICK("round tick"),
+    CLOCK("clock check"),
+    TIE_LATCH("tie latch"),
+    FALL_DETECTION("fall detection"),
+    ELIMINATION("elimination"),
+    OUTCOME("outcome"),
+    SCOREBOARD_REFRESH("scoreboard refresh"),
+    TIME_LEFT_LINES("time-left lines"),
+    OPPONENT_LINES("opponent lines");
+
+    private final String label;
+
+    DuelsTickPhase(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,74 @@
+package sh.harold.duels.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Opt-in per-phase timers. While disabled, {@link #start()} is a single volatile read and {@link #record} returns
+ * immediately, so call sites can stay in place permanently.
+ *
+ * <pre>{@code
+ * long started = DuelsTickProfiler.start();
+ * ...
+ * DuelsTickProfiler.record(DuelsTickPhase.CLOCK, started);
+ * }</pre>
+ */
+public final class DuelsTickProfiler {
+    private static final long DISABLED = 0L;
+    private static final Map<DuelsTickPhase, DuelsTickHistogram> HISTOGRAMS = new EnumMap<>(DuelsTickPhase.class);
+
+    private static volatile boolean enabled;
+    private static volatile long enabledAtNanos;
+
+    static {
+        for (DuelsTickPhase phase : DuelsTickPhase.values()) {
+            HISTOGRAMS.put(phase, new DuelsTickHistogram());
+        }
+    }
+
+    private DuelsTickProfiler() {
+    }
+
+    public static long start() {
+        if (!enabled) {
+            return DISABLED;
+        }
+        long now = System.nanoTime();
+        // nanoTime may legitimately be zero; nudge it so it cannot be mistaken for the disabled marker.
+        return now == DISABLED ? 1L : now;
+    }
+
+    public static void record(DuelsTickPhase phase, long startedAtNanos) {
+        if (startedAtNanos == DISABLED) {
+            return;
+        }
+        HISTOGRAMS.get(phase).record(System.nanoTime() - startedAtNanos);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        if (value && !enabled) {
+            enabledAtNanos = System.nanoTime();
+        }
+        enabled = value;
+    }
+
+    /**
+     * Nanoseconds since profiling was last enabled or reset, or 0 while disabled.
+     */
+    public static long windowNanos() {
+        return enabled ? System.nanoTime() - enabledAtNanos : 0L;
+    }
+
+    public static DuelsTickHistogram histogram(DuelsTickPhase phase) {
+        return HISTOGRAMS.get(phase);
+    }
+
+    public static void reset() {
+        HISTOGRAMS.values().forEach(DuelsTickHistogram::reset);
+        enabledAtNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,95 @@
+package sh.harold.duels.rating;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import sh.harold.duels.DuelsFiles;
+
+/**
+ * Tab-separated {@code <variant>.ratings} files of {@code uuid rating matches}. Commits append changed ratings and
+ * the last line for a player wins; {@link #save} compacts the file by rewriting it atomically.
+ */
+public final class FileRatingStore implements RatingStore {
+    private final Path directory;
+
+    public FileRatingStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Map<UUID, Rating> load(String variantId) throws IOException {
+        Path file = fileOf(variantId);
+        Map<UUID, Rating> ratings = new HashMap<>();
+        boolean tornTail = false;
+        if (!Files.exists(file)) {
+            return ratings;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            IOException malformed = null;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (malformed != null) {
+                    throw malformed;
+                }
+                String[] fields = line.split("\t");
+                try {
+                    UUID playerId = UUID.fromString(fields[0]);
+                    ratings.put(playerId, new Rating(playerId, Double.parseDouble(fields[1]),
+                            Integer.parseInt(fields[2])));
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+                    malformed = new IOException("Malformed rating at " + file + ":" + lineNumber, ex);
+                }
+            }
+            if (malformed != null) {
+                // A malformed last line is an append cut short by a crash; the ratings before it are intact.
+                tornTail = true;
+            }
+        }
+        if (tornTail) {
+            save(variantId, ratings.values());
+        }
+        return ratings;
+    }
+
+    @Override
+    public void save(String variantId, Collection<Rating> ratings) throws IOException {
+        DuelsFiles.writeAtomically(fileOf(variantId), temp -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writeLines(writer, ratings);
+            }
+        });
+    }
+
+    @Override
+    public void append(String variantId, Collection<Rating> changed) throws IOException {
+        Files.createDirectories(directory);
+        try (BufferedWriter writer = Files.newBufferedWriter(fileOf(variantId), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writeLines(writer, changed);
+        }
+    }
+
+    private static void writeLines(BufferedWriter writer, Collection<Rating> ratings) throws IOException {
+        for (Rating rating : ratings) {
+            writer.write(rating.playerId() + "\t" + rating.value() + "\t" + rating.matches());
+            writer.newLine();
+        }
+    }
+
+    private Path fileOf(String variantId) {
+        return directory.resolve(variantId + ".ratings");
+    }
+}
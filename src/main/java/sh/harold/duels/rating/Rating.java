@@ -0,0 +1,23 @@
+package sh.harold.duels.rating;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One player's Elo rating in one variant.
+ */
+public record Rating(UUID playerId, double value, int matches) {
+    public static final double INITIAL = 1_200D;
+
+    public Rating {
+        Objects.requireNonNull(playerId, "playerId");
+    }
+
+    static Rating initial(UUID playerId) {
+        return new Rating(playerId, INITIAL, 0);
+    }
+
+    Rating adjust(double delta) {
+        return new Rating(playerId, value + delta, matches + 1);
+    }
+}
@@ -0,0 +1,293 @@
+package sh.harold.duels.rating;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.plugin.java.JavaPlugin;
+import sh.harold.duels.results.MatchResult;
+
+/**
+ * Team-average Elo per variant, computed on a dedicated thread. Rating tables live only on that thread; readers see
+ * them through {@link RatingLeaderboard} snapshots swapped in atomically and a per-player view of immutable
+ * {@link Rating}s updated at the same cadence, so {@link #leaderboard(String)} and {@link #rating(String, UUID)}
+ * never lock or wait.
+ *
+ * <p>Commits append only the ratings that changed; a table is compacted once its appended lines outnumber its
+ * players.
+ */
+public final class RatingEngine {
+    static final int LEADERBOARD_SIZE = 100;
+    private static final double SCALE = 400D;
+    private static final double K_PROVISIONAL = 40D;
+    private static final double K_ESTABLISHED = 20D;
+    private static final int PROVISIONAL_MATCHES = 20;
+    private static final long PUBLISH_INTERVAL_MILLIS = 1_000L;
+    private static final long COMMIT_INTERVAL_MILLIS = 10_000L;
+    private static final long LOAD_RETRY_MILLIS = 60_000L;
+    private static final long STOP_TIMEOUT_SECONDS = 10L;
+    private static final Comparator<Rating> BY_RATING = Comparator.comparingDouble(Rating::value)
+            .thenComparing(Rating::playerId);
+
+    private static volatile RatingEngine instance;
+
+    private final Logger logger;
+    private final RatingStore store;
+    private final ScheduledExecutorService executor;
+    private final Map<String, AtomicReference<RatingLeaderboard>> leaderboards = new ConcurrentHashMap<>();
+    private final Map<String, Map<UUID, Rating>> publishedRatings = new ConcurrentHashMap<>();
+    private final Map<String, Map<UUID, Rating>> tables = new HashMap<>();
+    private final Map<String, Set<UUID>> uncommitted = new HashMap<>();
+    private final Map<String, Set<UUID>> unpublished = new HashMap<>();
+    private final Map<String, Integer> appendedLines = new HashMap<>();
+    private final Map<String, Long> loadFailedAtMillis = new HashMap<>();
+    private final Set<String> needsCompaction = new HashSet<>();
+
+    private RatingEngine(JavaPlugin plugin, RatingStore store) {
+        this.logger = plugin.getLogger();
+        this.store = store;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duels-rating");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::publish, PUBLISH_INTERVAL_MILLIS, PUBLISH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL_MILLIS, COMMIT_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static void start(JavaPlugin plugin) {
+        start(plugin, new FileRatingStore(plugin.getDataFolder().toPath().resolve("ratings")));
+    }
+
+    public static void start(JavaPlugin plugin, RatingStore store) {
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(store, "store");
+        if (instance == null) {
+            instance = new RatingEngine(plugin, store);
+        }
+    }
+
+    /**
+     * Applies outcomes still queued, commits every changed table and stops the engine thread.
+     */
+    public static void stop() {
+        RatingEngine engine = instance;
+        if (engine == null) {
+            return;
+        }
+        instance = null;
+        engine.executor.execute(() -> {
+            engine.publish();
+            engine.commit();
+        });
+        engine.executor.shutdown();
+        try {
+            if (!engine.executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                engine.logger.warning("Rating engine did not finish within " + STOP_TIMEOUT_SECONDS
+                        + " s; recent rating changes were not saved");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a decided match for rating; returns immediately.
+     */
+    public static void submit(MatchResult result) {
+        Objects.requireNonNull(result, "result");
+        RatingEngine engine = instance;
+        if (engine == null) {
+            return;
+        }
+        try {
+            engine.executor.execute(() -> engine.apply(result));
+        } catch (RejectedExecutionException ex) {
+            engine.logger.fine("Rating engine stopped; match " + result.matchId() + " not rated");
+        }
+    }
+
+    /**
+     * Latest published snapshot for the variant; empty until its first rated match.
+     */
+    public static RatingLeaderboard leaderboard(String variantId) {
+        RatingEngine engine = instance;
+        if (engine == null) {
+            return RatingLeaderboard.EMPTY;
+        }
+        AtomicReference<RatingLeaderboard> snapshot = engine.leaderboards.get(variantId);
+        return snapshot != null ? snapshot.get() : RatingLeaderboard.EMPTY;
+    }
+
+    /**
+     * The player's last published rating for the variant, or the initial rating if they have none yet.
+     */
+    public static Rating rating(String variantId, UUID playerId) {
+        RatingEngine engine = instance;
+        Map<UUID, Rating> published = engine != null ? engine.publishedRatings.get(variantId) : null;
+        Rating rating = published != null ? published.get(playerId) : null;
+        return rating != null ? rating : Rating.initial(playerId);
+    }
+
+    private void apply(MatchResult result) {
+        Map<UUID, Rating> table = table(result.variantId());
+        if (table == null) {
+            logger.fine("Match " + result.matchId() + " not rated: " + result.variantId()
+                    + " ratings are not loaded");
+            return;
+        }
+        List<MatchResult.Team> teams = result.teams();
+        double[] averages = new double[teams.size()];
+        int rated = 0;
+        for (int teamIndex = 0; teamIndex < teams.size(); teamIndex++) {
+            List<UUID> members = teams.get(teamIndex).members();
+            if (members.isEmpty()) {
+                averages[teamIndex] = Double.NaN;
+                continue;
+            }
+            double sum = 0D;
+            for (UUID member : members) {
+                sum += table.getOrDefault(member, Rating.initial(member)).value();
+            }
+            averages[teamIndex] = sum / members.size();
+            rated++;
+        }
+        if (rated < 2) {
+            return;
+        }
+
+        // Every team plays every other; score and expectation use team averages, the K factor each member's own.
+        List<Rating> updated = new ArrayList<>();
+        for (int teamIndex = 0; teamIndex < teams.size(); teamIndex++) {
+            if (Double.isNaN(averages[teamIndex])) {
+                continue;
+            }
+            double surprise = 0D;
+            for (int otherIndex = 0; otherIndex < teams.size(); otherIndex++) {
+                if (otherIndex == teamIndex || Double.isNaN(averages[otherIndex])) {
+                    continue;
+                }
+                double expected = 1D / (1D + Math.pow(10D, (averages[otherIndex] - averages[teamIndex]) / SCALE));
+                surprise += score(result, teamIndex, otherIndex) - expected;
+            }
+            surprise /= rated - 1;
+            for (UUID member : teams.get(teamIndex).members()) {
+                Rating current = table.getOrDefault(member, Rating.initial(member));
+                double k = current.matches() < PROVISIONAL_MATCHES ? K_PROVISIONAL : K_ESTABLISHED;
+                updated.add(current.adjust(k * surprise));
+            }
+        }
+        Set<UUID> toCommit = uncommitted.computeIfAbsent(result.variantId(), ignored -> new HashSet<>());
+        Set<UUID> toPublish = unpublished.computeIfAbsent(result.variantId(), ignored -> new HashSet<>());
+        for (Rating rating : updated) {
+            table.put(rating.playerId(), rating);
+            toCommit.add(rating.playerId());
+            toPublish.add(rating.playerId());
+        }
+    }
+
+    private static double score(MatchResult result, int teamIndex, int otherIndex) {
+        if (result.tie()) {
+            return 0.5D;
+        }
+        if (result.winnerTeam() == teamIndex) {
+            return 1D;
+        }
+        return result.winnerTeam() == otherIndex ? 0D : 0.5D;
+    }
+
+    private Map<UUID, Rating> table(String variantId) {
+        Map<UUID, Rating> table = tables.get(variantId);
+        if (table != null) {
+            return table;
+        }
+        Long failedAt = loadFailedAtMillis.get(variantId);
+        if (failedAt != null && System.currentTimeMillis() - failedAt < LOAD_RETRY_MILLIS) {
+            return null;
+        }
+        try {
+            // An unreadable table stays unloaded; an empty stand-in would overwrite it on the next commit.
+            table = new HashMap<>(store.load(variantId));
+        } catch (IOException | RuntimeException ex) {
+            loadFailedAtMillis.put(variantId, System.currentTimeMillis());
+            logger.log(Level.WARNING, "Unable to load " + variantId + " ratings; matches go unrated and the load is"
+                    + " retried in " + LOAD_RETRY_MILLIS / 1_000L + " s", ex);
+            return null;
+        }
+        loadFailedAtMillis.remove(variantId);
+        tables.put(variantId, table);
+        publishedRatings.computeIfAbsent(variantId, ignored -> new ConcurrentHashMap<>()).putAll(table);
+        unpublished.computeIfAbsent(variantId, ignored -> new HashSet<>());
+        return table;
+    }
+
+    private void publish() {
+        for (Map.Entry<String, Set<UUID>> changes : unpublished.entrySet()) {
+            String variantId = changes.getKey();
+            Map<UUID, Rating> table = tables.get(variantId);
+            Map<UUID, Rating> published = publishedRatings.get(variantId);
+            for (UUID playerId : changes.getValue()) {
+                published.put(playerId, table.get(playerId));
+            }
+            PriorityQueue<Rating> best = new PriorityQueue<>(LEADERBOARD_SIZE + 1, BY_RATING);
+            for (Rating rating : table.values()) {
+                best.add(rating);
+                if (best.size() > LEADERBOARD_SIZE) {
+                    best.poll();
+                }
+            }
+            List<Rating> top = new ArrayList<>(best);
+            top.sort(BY_RATING.reversed());
+            leaderboards.computeIfAbsent(variantId, ignored -> new AtomicReference<>(RatingLeaderboard.EMPTY))
+                    .set(new RatingLeaderboard(top, System.currentTimeMillis()));
+        }
+        unpublished.clear();
+    }
+
+    private void commit() {
+        for (Iterator<Map.Entry<String, Set<UUID>>> iterator = uncommitted.entrySet().iterator();
+             iterator.hasNext(); ) {
+            Map.Entry<String, Set<UUID>> changes = iterator.next();
+            String variantId = changes.getKey();
+            Map<UUID, Rating> table = tables.get(variantId);
+            try {
+                int appended = appendedLines.getOrDefault(variantId, 0) + changes.getValue().size();
+                if (appended > table.size() || needsCompaction.contains(variantId)) {
+                    store.save(variantId, table.values());
+                    needsCompaction.remove(variantId);
+                    appended = 0;
+                } else {
+                    List<Rating> changed = new ArrayList<>(changes.getValue().size());
+                    for (UUID playerId : changes.getValue()) {
+                        changed.add(table.get(playerId));
+                    }
+                    store.append(variantId, changed);
+                }
+                appendedLines.put(variantId, appended);
+                iterator.remove();
+            } catch (IOException | RuntimeException ex) {
+                // A failed append may have left a partial line; the retry rewrites the table instead.
+                needsCompaction.add(variantId);
+                logger.log(Level.WARNING, "Unable to save " + variantId + " ratings; will retry", ex);
+            }
+        }
+    }
+}
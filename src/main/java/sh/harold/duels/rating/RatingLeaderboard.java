@@ -0,0 +1,46 @@
+package sh.harold.duels.rating;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable top-N snapshot of one variant, safe to read from any thread.
+ */
+public final class RatingLeaderboard {
+    static final RatingLeaderboard EMPTY = new RatingLeaderboard(List.of(), 0L);
+
+    private final List<Rating> top;
+    private final Map<UUID, Integer> ranks;
+    private final long publishedAtMillis;
+
+    RatingLeaderboard(List<Rating> top, long publishedAtMillis) {
+        this.top = List.copyOf(top);
+        this.publishedAtMillis = publishedAtMillis;
+        Map<UUID, Integer> ranks = new HashMap<>(top.size() * 2);
+        for (int index = 0; index < top.size(); index++) {
+            ranks.put(top.get(index).playerId(), index + 1);
+        }
+        this.ranks = Map.copyOf(ranks);
+    }
+
+    /**
+     * Highest rated first.
+     */
+    public List<Rating> top() {
+        return top;
+    }
+
+    /**
+     * One-based rank, if the player made the snapshot.
+     */
+    public Optional<Integer> rankOf(UUID playerId) {
+        return Optional.ofNullable(ranks.get(playerId));
+    }
+
+    public long publishedAtMillis() {
+        return publishedAtMillis;
+    }
+}
@@ -0,0 +1,23 @@
+package sh.harold.duels.rating;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persistent rating tables, one per variant. Only called from the rating engine's thread.
+ */
+public interface RatingStore {
+    Map<UUID, Rating> load(String variantId) throws IOException;
+
+    /**
+     * Replaces the stored table for {@code variantId} with {@code ratings}.
+     */
+    void save(String variantId, Collection<Rating> ratings) throws IOException;
+
+    /**
+     * Records changed ratings without rewriting the table; a later entry for a player supersedes earlier ones.
+     */
+    void append(String variantId, Collection<Rating> changed) throws IOException;
+}
@@ -0,0 +1,110 @@
+package sh.harold.duels.results;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends results as JSON lines to one file per UTC day, {@code matches-YYYY-MM-DD.jsonl}, syncing after each batch.
+ */
+public final class FileMatchResultStore implements MatchResultStore {
+    private final Path directory;
+
+    public FileMatchResultStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void writeBatch(List<MatchResult> batch) throws IOException {
+        Files.createDirectories(directory);
+        int start = 0;
+        while (start < batch.size()) {
+            LocalDate day = dayOf(batch.get(start));
+            int end = start + 1;
+            while (end < batch.size() && dayOf(batch.get(end)).equals(day)) {
+                end++;
+            }
+            append(directory.resolve("matches-" + day + ".jsonl"), batch.subList(start, end));
+            start = end;
+        }
+    }
+
+    private void append(Path file, List<MatchResult> results) throws IOException {
+        StringBuilder out = new StringBuilder(results.size() * 256);
+        for (MatchResult result : results) {
+            appendJson(out, result);
+            out.append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = StandardCharsets.UTF_8.encode(out.toString());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+    }
+
+    private static LocalDate dayOf(MatchResult result) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(result.concludedAtMillis()), ZoneOffset.UTC);
+    }
+
+    static void appendJson(StringBuilder out, MatchResult result) {
+        out.append("{\"match\":\"").append(result.matchId()).append('"');
+        out.append(",\"variant\":");
+        appendString(out, result.variantId());
+        out.append(",\"map\":");
+        appendString(out, result.mapId());
+        out.append(",\"teams\":[");
+        for (int teamIndex = 0; teamIndex < result.teams().size(); teamIndex++) {
+            MatchResult.Team team = result.teams().get(teamIndex);
+            if (teamIndex > 0) {
+                out.append(',');
+            }
+            out.append("{\"id\":");
+            appendString(out, team.id());
+            out.append(",\"members\":[");
+            for (int member = 0; member < team.members().size(); member++) {
+                UUID memberId = team.members().get(member);
+                out.append(member > 0 ? ",\"" : "\"").append(memberId).append('"');
+            }
+            out.append("]}");
+        }
+        out.append("],\"winner\":").append(result.winnerTeam());
+        out.append(",\"tie\":").append(result.tie());
+        out.append(",\"durationMillis\":").append(result.durationMillis());
+        out.append(",\"concludedAt\":").append(result.concludedAtMillis());
+        out.append('}');
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,31 @@
+package sh.harold.duels.results;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable record of one decided match. {@code winnerTeam} indexes {@link #teams()} and is {@code -1} for a tie.
+ */
+public record MatchResult(UUID matchId, String variantId, String mapId, List<Team> teams, int winnerTeam,
+                          boolean tie, long durationMillis, long concludedAtMillis) {
+    public static final int NO_WINNER = -1;
+
+    public MatchResult {
+        Objects.requireNonNull(matchId, "matchId");
+        Objects.requireNonNull(variantId, "variantId");
+        mapId = mapId == null ? "" : mapId;
+        teams = List.copyOf(teams);
+        if (tie ? winnerTeam != NO_WINNER : winnerTeam < 0 || winnerTeam >= teams.size()) {
+            throw new IllegalArgumentException("Winner " + winnerTeam + " does not match tie=" + tie
+                    + " for " + teams.size() + " teams");
+        }
+    }
+
+    public record Team(String id, List<UUID> members) {
+        public Team {
+            Objects.requireNonNull(id, "id");
+            members = List.copyOf(members);
+        }
+    }
+}
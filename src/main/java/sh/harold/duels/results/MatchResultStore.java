@@ -0,0 +1,14 @@
+package sh.harold.duels.results;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for match results. Called only from the results writer thread, one batch at a time.
+ */
+public interface MatchResultStore {
+    void writeBatch(List<MatchResult> batch) throws IOException;
+
+    default void close() throws IOException {
+    }
+}
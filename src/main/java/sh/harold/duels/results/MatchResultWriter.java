@@ -0,0 +1,153 @@
+package sh.harold.duels.results;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Write-behind pipeline for {@link MatchResult}s: the main thread enqueues, a dedicated writer thread drains the
+ * queue in batches into a {@link MatchResultStore}.
+ */
+public final class MatchResultWriter {
+    static final int QUEUE_CAPACITY = 1_024;
+    static final int MAX_BATCH = 128;
+    private static final long LINGER_MILLIS = 250L;
+    private static final long OFFER_TIMEOUT_MILLIS = 5L;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 500L;
+    private static final long STOP_TIMEOUT_MILLIS = 10_000L;
+
+    private static MatchResultWriter instance;
+
+    private final Logger logger;
+    private final MatchResultStore store;
+    private final BlockingQueue<MatchResult> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long dropped;
+
+    private MatchResultWriter(JavaPlugin plugin, MatchResultStore store) {
+        this.logger = plugin.getLogger();
+        this.store = store;
+        this.thread = new Thread(this::run, "duels-results-writer");
+        this.thread.setDaemon(true);
+    }
+
+    public static void start(JavaPlugin plugin) {
+        start(plugin, new FileMatchResultStore(plugin.getDataFolder().toPath().resolve("results")));
+    }
+
+    public static void start(JavaPlugin plugin, MatchResultStore store) {
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(store, "store");
+        if (instance == null) {
+            instance = new MatchResultWriter(plugin, store);
+            instance.thread.start();
+        }
+    }
+
+    /**
+     * Stops accepting results, then waits for everything already queued to reach the store.
+     */
+    public static void stop() {
+        MatchResultWriter writer = instance;
+        if (writer == null) {
+            return;
+        }
+        instance = null;
+        writer.running = false;
+        try {
+            writer.thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.thread.isAlive()) {
+            writer.logger.warning("Match results writer did not finish within " + STOP_TIMEOUT_MILLIS
+                    + " ms; " + writer.queue.size() + " results not stored");
+        }
+    }
+
+    /**
+     * Queues a result for the store. When the queue is full the caller waits briefly for the writer, then drops the
+     * result rather than stall the tick; returns whether it was queued.
+     */
+    public static boolean submit(MatchResult result) {
+        Objects.requireNonNull(result, "result");
+        MatchResultWriter writer = instance;
+        if (writer == null) {
+            return false;
+        }
+        return writer.enqueue(result);
+    }
+
+    private boolean enqueue(MatchResult result) {
+        if (queue.offer(result)) {
+            return true;
+        }
+        try {
+            if (queue.offer(result, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        dropped++;
+        if (Long.bitCount(dropped) == 1) {
+            logger.warning("Match results queue full; dropped " + dropped + " results so far (latest "
+                    + result.matchId() + ")");
+        }
+        return false;
+    }
+
+    private void run() {
+        List<MatchResult> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                MatchResult first = queue.poll(LINGER_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                // Never interrupted on purpose: an interrupt would close the store's file channel mid-write.
+                continue;
+            }
+            queue.drainTo(batch, MAX_BATCH - batch.size());
+            writeWithRetry(batch);
+            batch.clear();
+        }
+        try {
+            store.close();
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Unable to close match results store", ex);
+        }
+    }
+
+    private void writeWithRetry(List<MatchResult> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                store.writeBatch(batch);
+                return;
+            } catch (IOException | RuntimeException ex) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    logger.log(Level.SEVERE, "Dropping " + batch.size() + " match results after "
+                            + attempt + " failed writes", ex);
+                    return;
+                }
+                logger.log(Level.WARNING, "Match results write failed (attempt " + attempt + "); retrying", ex);
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException interrupted) {
+                    // Retry straight away rather than lose the batch.
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package sh.harold.duels.scoreboard;
+
+/**
+ * Allocation-free octant quantizer for the opponent direction arrow.
+ */
+final class DuelsDirectionArrows {
+    static final String NEARBY = "•";
+
+    private static final String[] ARROWS = {"⬆", "⬈", "➡", "⬊", "⬇", "⬋", "⬅", "⬉"};
+    private static final double NEARBY_DISTANCE_SQUARED = 0.01D;
+    private static final double TAN_HALF_OCTANT = Math.tan(Math.PI / 8D);
+    private static final int YAW_STEPS = 4096;
+    private static final int YAW_MASK = YAW_STEPS - 1;
+    private static final float YAW_TO_STEP = YAW_STEPS / 360F;
+    private static final double[] YAW_SIN = new double[YAW_STEPS];
+    private static final double[] YAW_COS = new double[YAW_STEPS];
+
+    static {
+        for (int step = 0; step < YAW_STEPS; step++) {
+            double radians = (Math.PI * 2D * step) / YAW_STEPS;
+            YAW_SIN[step] = Math.sin(radians);
+            YAW_COS[step] = Math.cos(radians);
+        }
+    }
+
+    private DuelsDirectionArrows() {
+    }
+
+    static String arrow(double dx, double dy, double dz, float viewerYaw) {
+        if (dx * dx + dy * dy + dz * dz < NEARBY_DISTANCE_SQUARED) {
+            return NEARBY;
+        }
+        return ARROWS[octant(dx, dz, viewerYaw)];
+    }
+
+    /**
+     * Octant of the target relative to where the viewer faces: 0 is straight ahead, counting clockwise.
+     */
+    static int octant(double dx, double dz, float viewerYaw) {
+        int step = Math.round(viewerYaw * YAW_TO_STEP) & YAW_MASK;
+        double sin = YAW_SIN[step];
+        double cos = YAW_COS[step];
+        // Rotate the delta into the viewer's frame: forward along the look direction, side to the right.
+        double forward = dz * cos - dx * sin;
+        double side = -dx * cos - dz * sin;
+        double absForward = Math.abs(forward);
+        double absSide = Math.abs(side);
+        if (absSide <= absForward * TAN_HALF_OCTANT) {
+            return forward >= 0D ? 0 : 4;
+        }
+        if (absForward <= absSide * TAN_HALF_OCTANT) {
+            return side >= 0D ? 2 : 6;
+        }
+        if (forward > 0D) {
+            return side > 0D ? 1 : 7;
+        }
+        return side > 0D ? 3 : 5;
+    }
+}
@@ -3,39 +3,51 @@ package sh.harold.duels.scoreboard;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 /**
- * Simple wall-clock tracker for in-match countdowns.
+ * Monotonic tracker for in-match countdowns. Reads never allocate and may happen off the main thread.
  */
 public final class DuelsMatchClock {
-    private final Duration totalDuration;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Optional<Duration> totalDuration;
+    private final long totalNanos;
     private final boolean infinite;
-    private Duration accrued;
-    private long lastUpdateMillis;
-    private boolean frozen;
+    private final LongSupplier nanoTime;
+    private volatile Segment segment;
 
-    private DuelsMatchClock(Duration totalDuration, boolean infinite) {
-        this.totalDuration = totalDuration;
+    private DuelsMatchClock(Duration totalDuration, boolean infinite, LongSupplier nanoTime) {
+        this.totalDuration = infinite ? Optional.empty() : Optional.of(totalDuration);
+        this.totalNanos = infinite ? 0L : totalDuration.toNanos();
         this.infinite = infinite;
-        this.accrued = Duration.ZERO;
-        this.lastUpdateMillis = System.currentTimeMillis();
-        this.frozen = false;
+        this.nanoTime = nanoTime;
+        this.segment = new Segment(0L, nanoTime.getAsLong(), false, false);
     }
 
     public static DuelsMatchClock start(Duration duration) {
+        return start(duration, System::nanoTime);
+    }
+
+    /**
+     * Starts a clock that reads time from {@code nanoTime}, e.g. one advanced by simulated server ticks.
+     */
+    static DuelsMatchClock start(Duration duration, LongSupplier nanoTime) {
         Objects.requireNonNull(duration, "duration");
+        Objects.requireNonNull(nanoTime, "nanoTime");
         if (duration.isNegative() || duration.isZero()) {
             throw new IllegalArgumentException("Match duration must be positive");
         }
-        return new DuelsMatchClock(duration, false);
+        return new DuelsMatchClock(duration, false, nanoTime);
     }
 
     public static DuelsMatchClock infinite() {
-        return new DuelsMatchClock(Duration.ZERO, true);
+        return new DuelsMatchClock(Duration.ZERO, true, System::nanoTime);
     }
 
     public Optional<Duration> totalDuration() {
-        return infinite ? Optional.empty() : Optional.of(totalDuration);
+        return totalDuration;
     }
 
     public boolean isInfinite() {
@@ -43,70 +55,106 @@ public final class DuelsMatchClock {
     }
 
     public Duration elapsed() {
-        updateAccrued();
-        return accrued;
+        return Duration.ofNanos(elapsedNanos());
     }
 
     public Duration remaining() {
-        if (infinite) {
-            return Duration.ZERO;
-        }
-        updateAccrued();
-        Duration remaining = totalDuration.minus(accrued);
-        return remaining.isNegative() ? Duration.ZERO : remaining;
+        return Duration.ofNanos(remainingNanos());
     }
 
     public boolean isExpired() {
-        if (infinite) {
-            return false;
-        }
-        updateAccrued();
-        return accrued.compareTo(totalDuration) >= 0;
+        return !infinite && elapsedNanos() >= totalNanos;
+    }
+
+    public long elapsedMillis() {
+        return elapsedNanos() / NANOS_PER_MILLI;
+    }
+
+    public long remainingMillis() {
+        return remainingNanos() / NANOS_PER_MILLI;
+    }
+
+    public long remainingSeconds() {
+        return remainingNanos() / NANOS_PER_SECOND;
+    }
+
+    public long totalMillis() {
+        return totalNanos / NANOS_PER_MILLI;
     }
 
+    /**
+     * Freezing is meant to be re-synced every tick, so repeated calls with an unchanged state are free.
+     */
     public void setFrozen(boolean frozen) {
-        if (this.frozen == frozen) {
+        if (segment.frozen() == frozen) {
             return;
         }
-        updateAccrued();
-        this.frozen = frozen;
-        this.lastUpdateMillis = System.currentTimeMillis();
+        synchronized (this) {
+            Segment current = segment;
+            if (current.frozen() == frozen) {
+                return;
+            }
+            long now = nanoTime.getAsLong();
+            segment = new Segment(current.elapsedAt(now, infinite, totalNanos), now, frozen, current.held());
+        }
     }
 
     public boolean isFrozen() {
-        return frozen;
+        return segment.frozen();
+    }
+
+    /**
+     * Holds the countdown independently of the state-machine freeze, e.g. until every player has landed.
+     */
+    public void setHeld(boolean held) {
+        if (segment.held() == held) {
+            return;
+        }
+        synchronized (this) {
+            Segment current = segment;
+            if (current.held() == held) {
+                return;
+            }
+            long now = nanoTime.getAsLong();
+            segment = new Segment(current.elapsedAt(now, infinite, totalNanos), now, current.frozen(), held);
+        }
+    }
+
+    public boolean isHeld() {
+        return segment.held();
     }
 
     public String formatRemaining() {
         if (infinite) {
             return "∞";
         }
-        Duration remaining = remaining();
-        long totalSeconds = remaining.getSeconds();
-        long hours = totalSeconds / 3600;
-        long minutes = (totalSeconds % 3600) / 60;
-        long seconds = totalSeconds % 60;
-        if (hours > 0) {
-            return String.format("%d:%02d:%02d", hours, minutes, seconds);
-        }
-        return String.format("%02d:%02d", minutes, seconds);
+        return DuelsTimeLeftLines.format(remainingSeconds());
+    }
+
+    private long elapsedNanos() {
+        return segment.elapsedAt(nanoTime.getAsLong(), infinite, totalNanos);
     }
 
-    private void updateAccrued() {
-        long now = System.currentTimeMillis();
+    private long remainingNanos() {
         if (infinite) {
-            lastUpdateMillis = now;
-            return;
+            return 0L;
         }
-        if (!frozen) {
-            long deltaMillis = Math.max(0L, now - lastUpdateMillis);
-            if (deltaMillis > 0L) {
-                accrued = accrued.plusMillis(deltaMillis);
-                if (accrued.compareTo(totalDuration) > 0) {
-                    accrued = totalDuration;
-                }
+        return Math.max(0L, totalNanos - elapsedNanos());
+    }
+
+    /**
+     * Immutable run of the clock since the last freeze toggle; swapped atomically so readers never tear.
+     */
+    private record Segment(long accruedNanos, long startedNanos, boolean frozen, boolean held) {
+        long elapsedAt(long now, boolean infinite, long totalNanos) {
+            if (infinite) {
+                return 0L;
+            }
+            if (frozen || held) {
+                return accruedNanos;
             }
+            long elapsed = accruedNanos + Math.max(0L, now - startedNanos);
+            return Math.min(elapsed, totalNanos);
         }
-        lastUpdateMillis = now;
     }
 }
@@ -0,0 +1,63 @@
+package sh.harold.duels.scoreboard;
+
+import java.util.List;
+
+/**
+ * Renders the opponent module; health labels are interned since only a few heart counts ever occur.
+ */
+final class DuelsOpponentLines {
+    static final String HEADER = "&f&lOpponent:";
+    static final String UNAVAILABLE = "&7Unavailable";
+    static final String SEARCHING = "&7Searching...";
+    static final List<String> UNAVAILABLE_LINES = List.of(HEADER, UNAVAILABLE);
+    static final List<String> SEARCHING_LINES = List.of(HEADER, SEARCHING);
+
+    private static final int CACHED_HEARTS = 64;
+    private static final String[] HEALTH_LABELS = new String[CACHED_HEARTS + 1];
+
+    static {
+        for (int hearts = 0; hearts <= CACHED_HEARTS; hearts++) {
+            HEALTH_LABELS[hearts] = healthLabel(hearts);
+        }
+    }
+
+    private DuelsOpponentLines() {
+    }
+
+    /**
+     * Lines for a combatant viewer looking at {@code opponent}; both index {@code pairing}.
+     */
+    static List<String> render(DuelsOpponentPairing pairing, int viewer, int opponent, String name, double health,
+                               double maxHealth) {
+        return render(pairing, opponent, pairing.x(viewer), pairing.y(viewer), pairing.z(viewer),
+                pairing.yaw(viewer), name, health, maxHealth);
+    }
+
+    /**
+     * Lines for a viewer at the given position looking at {@code opponent}, or the searching lines for
+     * {@link DuelsOpponentPairing#NONE}.
+     */
+    static List<String> render(DuelsOpponentPairing pairing, int opponent, double viewerX, double viewerY,
+                               double viewerZ, float viewerYaw, String name, double health, double maxHealth) {
+        if (opponent == DuelsOpponentPairing.NONE) {
+            return SEARCHING_LINES;
+        }
+        String arrow = DuelsDirectionArrows.arrow(pairing.x(opponent) - viewerX, pairing.y(opponent) - viewerY,
+                pairing.z(opponent) - viewerZ, viewerYaw);
+        return List.of(HEADER, line(arrow, name, health(health, maxHealth)));
+    }
+
+    static String health(double health, double maxHealth) {
+        double clamped = Math.max(0D, Math.min(health, maxHealth));
+        int hearts = Math.max(0, (int) Math.ceil(clamped / 2D));
+        return hearts <= CACHED_HEARTS ? HEALTH_LABELS[hearts] : healthLabel(hearts);
+    }
+
+    static String line(String arrow, String name, String health) {
+        return "&7" + arrow + " " + name + " " + health;
+    }
+
+    private static String healthLabel(int hearts) {
+        return "&a" + hearts + "&c❤";
+    }
+}
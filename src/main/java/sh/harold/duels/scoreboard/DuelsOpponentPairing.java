@@ -0,0 +1,185 @@
+package sh.harold.duels.scoreboard;
+
+import java.util.Arrays;
+
+/**
+ * Combatant positions with every nearest-opponent pair resolved in one pass.
+ *
+ * <p>Pairing sorts combatants along X and sweeps outwards from each one until the X gap alone exceeds the best
+ * distance found. Positions barely move between snapshots, so the insertion sort that keeps the order is close to
+ * linear and each sweep usually stops after a few neighbours.
+ */
+final class DuelsOpponentPairing {
+    static final int NONE = -1;
+
+    private final int[] teamIndices;
+    private final boolean[] active;
+    private final boolean[] sampled;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final float[] yaw;
+    private final int[] nearest;
+    private final int[] byX;
+
+    DuelsOpponentPairing(int[] teamIndices) {
+        int size = teamIndices.length;
+        this.teamIndices = teamIndices.clone();
+        this.active = new boolean[size];
+        this.sampled = new boolean[size];
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+        this.yaw = new float[size];
+        this.nearest = new int[size];
+        Arrays.fill(nearest, NONE);
+        this.byX = new int[size];
+        for (int i = 0; i < size; i++) {
+            byX[i] = i;
+        }
+    }
+
+    void place(int index, double placedX, double placedY, double placedZ, float placedYaw, boolean isActive) {
+        x[index] = placedX;
+        y[index] = placedY;
+        z[index] = placedZ;
+        yaw[index] = placedYaw;
+        active[index] = isActive;
+        sampled[index] = true;
+    }
+
+    /**
+     * Marks a combatant that could not be sampled; it is neither paired nor anyone's opponent.
+     */
+    void clear(int index) {
+        active[index] = false;
+        sampled[index] = false;
+    }
+
+    void pairNearest() {
+        sortByX();
+        for (int rank = 0; rank < byX.length; rank++) {
+            int i = byX[rank];
+            nearest[i] = sampled[i] ? sweepNearest(rank) : NONE;
+        }
+    }
+
+    int size() {
+        return teamIndices.length;
+    }
+
+    boolean isSampled(int index) {
+        return sampled[index];
+    }
+
+    int nearestOpponent(int index) {
+        return nearest[index];
+    }
+
+    /**
+     * Closest active combatant outside {@code teamIndex} by a full scan; {@link #NONE} matches every team.
+     */
+    int nearestTo(double fromX, double fromY, double fromZ, int teamIndex) {
+        double nearestDistance = Double.MAX_VALUE;
+        int result = NONE;
+        for (int j = 0; j < teamIndices.length; j++) {
+            if (!active[j] || teamIndices[j] == teamIndex) {
+                continue;
+            }
+            double dx = x[j] - fromX;
+            double dy = y[j] - fromY;
+            double dz = z[j] - fromZ;
+            double distance = dx * dx + dy * dy + dz * dz;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                result = j;
+            }
+        }
+        return result;
+    }
+
+    int teamIndex(int index) {
+        return teamIndices[index];
+    }
+
+    double x(int index) {
+        return x[index];
+    }
+
+    double y(int index) {
+        return y[index];
+    }
+
+    double z(int index) {
+        return z[index];
+    }
+
+    float yaw(int index) {
+        return yaw[index];
+    }
+
+    double distanceSquared(int from, int to) {
+        double dx = x[to] - x[from];
+        double dy = y[to] - y[from];
+        double dz = z[to] - z[from];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void sortByX() {
+        for (int rank = 1; rank < byX.length; rank++) {
+            int index = byX[rank];
+            double key = x[index];
+            int hole = rank;
+            while (hole > 0 && x[byX[hole - 1]] > key) {
+                byX[hole] = byX[hole - 1];
+                hole--;
+            }
+            byX[hole] = index;
+        }
+    }
+
+    private int sweepNearest(int rank) {
+        int self = byX[rank];
+        double fromX = x[self];
+        int teamIndex = teamIndices[self];
+        double nearestDistance = Double.MAX_VALUE;
+        int result = NONE;
+        int left = rank - 1;
+        int right = rank + 1;
+        while (left >= 0 || right < byX.length) {
+            if (right < byX.length) {
+                int j = byX[right];
+                double dx = x[j] - fromX;
+                if (dx * dx >= nearestDistance) {
+                    right = byX.length;
+                } else {
+                    if (active[j] && teamIndices[j] != teamIndex) {
+                        double distance = distanceSquared(self, j);
+                        if (distance < nearestDistance) {
+                            nearestDistance = distance;
+                            result = j;
+                        }
+                    }
+                    right++;
+                }
+            }
+            if (left >= 0) {
+                int j = byX[left];
+                double dx = fromX - x[j];
+                if (dx * dx >= nearestDistance) {
+                    left = -1;
+                } else {
+                    if (active[j] && teamIndices[j] != teamIndex) {
+                        double distance = distanceSquared(self, j);
+                        if (distance < nearestDistance) {
+                            nearestDistance = distance;
+                            result = j;
+                        }
+                    }
+                    left--;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package sh.harold.duels.scoreboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import sh.harold.fulcrum.minigame.match.RosterManager;
+import sh.harold.fulcrum.minigame.match.RosterManager.PlayerState;
+import sh.harold.fulcrum.minigame.state.context.StateContext;
+import sh.harold.fulcrum.minigame.team.MatchTeam;
+
+/**
+ * Match-wide snapshot of combatant positions, fed into a {@link DuelsOpponentPairing} once per refresh.
+ */
+final class DuelsOpponentResolver {
+    static final int NONE = DuelsOpponentPairing.NONE;
+
+    private final StateContext context;
+    private final UUID[] playerIds;
+    private final Map<UUID, Integer> indexById;
+    private final Player[] players;
+    private final DuelsOpponentPairing pairing;
+    private final Location scratch = new Location(null, 0D, 0D, 0D);
+
+    private DuelsOpponentResolver(StateContext context, List<UUID> playerIds, int[] teamIndices) {
+        int size = playerIds.size();
+        this.context = context;
+        this.playerIds = playerIds.toArray(new UUID[0]);
+        this.indexById = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            indexById.put(this.playerIds[i], i);
+        }
+        this.players = new Player[size];
+        this.pairing = new DuelsOpponentPairing(teamIndices);
+    }
+
+    static DuelsOpponentResolver create(StateContext context) {
+        Objects.requireNonNull(context, "context");
+        List<UUID> playerIds = new ArrayList<>();
+        List<Integer> teamIndices = new ArrayList<>();
+        int teamIndex = 0;
+        for (MatchTeam team : context.teams().teams()) {
+            for (UUID memberId : team.members()) {
+                playerIds.add(memberId);
+                teamIndices.add(teamIndex);
+            }
+            teamIndex++;
+        }
+        int[] teams = new int[teamIndices.size()];
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = teamIndices.get(i);
+        }
+        return new DuelsOpponentResolver(context, playerIds, teams);
+    }
+
+    /**
+     * Samples every combatant once, then pairs each of them with the closest active opponent.
+     */
+    void snapshot() {
+        for (int i = 0; i < playerIds.length; i++) {
+            Player player = players[i];
+            if (player == null || !player.isOnline()) {
+                player = context.findPlayer(playerIds[i]).orElse(null);
+                players[i] = player;
+            }
+            if (player == null) {
+                pairing.clear(i);
+                continue;
+            }
+            RosterManager.Entry entry = context.roster().get(playerIds[i]);
+            boolean active = entry != null && entry.getState() == PlayerState.ACTIVE;
+            player.getLocation(scratch);
+            pairing.place(i, scratch.getX(), scratch.getY(), scratch.getZ(), scratch.getYaw(), active);
+        }
+        pairing.pairNearest();
+    }
+
+    DuelsOpponentPairing pairing() {
+        return pairing;
+    }
+
+    int indexOf(UUID playerId) {
+        Integer index = indexById.get(playerId);
+        return index != null ? index : NONE;
+    }
+
+    /**
+     * Resolves viewers that are not combatants (no team), matching every active combatant.
+     */
+    int nearestTo(Player viewer) {
+        viewer.getLocation(scratch);
+        return pairing.nearestTo(scratch.getX(), scratch.getY(), scratch.getZ(), NONE);
+    }
+
+    Player player(int index) {
+        return players[index];
+    }
+}
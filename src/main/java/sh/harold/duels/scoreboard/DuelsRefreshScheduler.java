@@ -0,0 +1,159 @@
+package sh.harold.duels.scoreboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Single-task timing wheel that spreads every match's scoreboard refresh across the refresh period. A refresh that
+ * reports its match is gone is dropped, so a match whose teardown never ran does not stay on the wheel.
+ */
+public final class DuelsRefreshScheduler {
+    static final int PERIOD_TICKS = 10;
+
+    private static DuelsRefreshScheduler instance;
+
+    private final JavaPlugin plugin;
+    private final List<List<Entry>> wheel = new ArrayList<>(PERIOD_TICKS);
+    private final BukkitTask task;
+    private int cursor;
+    private int registered;
+    private int lastTickRefreshCount;
+    private boolean running;
+
+    private DuelsRefreshScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+        for (int slot = 0; slot < PERIOD_TICKS; slot++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    public static void start(JavaPlugin plugin) {
+        Objects.requireNonNull(plugin, "plugin");
+        if (instance == null) {
+            instance = new DuelsRefreshScheduler(plugin);
+        }
+    }
+
+    public static void stop() {
+        if (instance != null) {
+            instance.task.cancel();
+            instance.wheel.forEach(List::clear);
+            instance = null;
+        }
+    }
+
+    public static Optional<DuelsRefreshScheduler> current() {
+        return Optional.ofNullable(instance);
+    }
+
+    /**
+     * Adds a refresh to the least loaded slot of the wheel; it then runs once every {@link #PERIOD_TICKS} until it
+     * returns {@code false} or is cancelled.
+     */
+    Registration register(BooleanSupplier refresh) {
+        Objects.requireNonNull(refresh, "refresh");
+        int slot = leastLoadedSlot();
+        Entry entry = new Entry(slot, refresh);
+        wheel.get(slot).add(entry);
+        registered++;
+        return entry;
+    }
+
+    public int registeredCount() {
+        return registered;
+    }
+
+    public int lastTickRefreshCount() {
+        return lastTickRefreshCount;
+    }
+
+    public int[] slotLoads() {
+        int[] loads = new int[PERIOD_TICKS];
+        for (int slot = 0; slot < PERIOD_TICKS; slot++) {
+            loads[slot] = wheel.get(slot).size();
+        }
+        return loads;
+    }
+
+    private int leastLoadedSlot() {
+        // Prefer the slot furthest from the cursor on ties so a burst of new matches does not land next tick.
+        int best = -1;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int offset = PERIOD_TICKS; offset > 0; offset--) {
+            int slot = (cursor + offset) % PERIOD_TICKS;
+            int load = wheel.get(slot).size();
+            if (load < bestLoad) {
+                best = slot;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private void tick() {
+        List<Entry> bucket = wheel.get(cursor);
+        cursor = (cursor + 1) % PERIOD_TICKS;
+        running = true;
+        int refreshed = 0;
+        try {
+            for (int i = 0; i < bucket.size(); i++) {
+                Entry entry = bucket.get(i);
+                if (entry.cancelled) {
+                    continue;
+                }
+                try {
+                    if (!entry.refresh.getAsBoolean()) {
+                        unregister(entry);
+                        continue;
+                    }
+                } catch (RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "Duels scoreboard refresh failed", ex);
+                }
+                refreshed++;
+            }
+        } finally {
+            running = false;
+        }
+        bucket.removeIf(entry -> entry.cancelled);
+        lastTickRefreshCount = refreshed;
+    }
+
+    private void unregister(Entry entry) {
+        if (entry.cancelled) {
+            return;
+        }
+        entry.cancelled = true;
+        registered--;
+        if (!running) {
+            wheel.get(entry.slot).remove(entry);
+        }
+    }
+
+    @FunctionalInterface
+    interface Registration {
+        void cancel();
+    }
+
+    private final class Entry implements Registration {
+        private final int slot;
+        private final BooleanSupplier refresh;
+        private boolean cancelled;
+
+        private Entry(int slot, BooleanSupplier refresh) {
+            this.slot = slot;
+            this.refresh = refresh;
+        }
+
+        @Override
+        public void cancel() {
+            unregister(this);
+        }
+    }
+}
@@ -1,45 +1,36 @@
 package sh.harold.duels.scoreboard;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.util.Vector;
 import org.bukkit.scheduler.BukkitTask;
+import sh.harold.duels.DuelsMatchSettings;
+import sh.harold.duels.DuelsServices;
+import sh.harold.duels.MatchDisplayNames;
+import sh.harold.duels.metrics.DuelsMetrics;
+import sh.harold.duels.metrics.DuelsTickPhase;
+import sh.harold.duels.metrics.DuelsTickProfiler;
+import sh.harold.duels.stats.PlayerStats;
+import sh.harold.duels.stats.PlayerStatsCache;
 import sh.harold.fulcrum.api.lifecycle.ServerIdentifier;
 import sh.harold.fulcrum.api.message.scoreboard.ScoreboardBuilder;
 import sh.harold.fulcrum.api.message.scoreboard.ScoreboardService;
 import sh.harold.fulcrum.api.message.scoreboard.module.DynamicContentProvider;
 import sh.harold.fulcrum.api.message.scoreboard.module.ScoreboardModule;
-import sh.harold.fulcrum.api.message.scoreboard.module.StaticContentProvider;
 import sh.harold.fulcrum.api.message.scoreboard.registry.ScoreboardDefinition;
-import sh.harold.fulcrum.api.rank.Rank;
-import sh.harold.fulcrum.api.rank.RankUtils;
-import sh.harold.fulcrum.lifecycle.ServiceLocatorImpl;
-import sh.harold.fulcrum.minigame.match.RosterManager;
-import sh.harold.fulcrum.minigame.match.RosterManager.PlayerState;
 import sh.harold.fulcrum.minigame.state.context.StateContext;
-import sh.harold.fulcrum.minigame.team.MatchTeam;
-import sh.harold.fulcrum.minigame.MinigameAttributes;
 
 public final class DuelsScoreboard {
     private static final String SCOREBOARD_ATTRIBUTE = "duels.inGame.scoreboard";
     private static final long FAST_REFRESH_INTERVAL_MILLIS = 500L;
     private static final long STANDARD_REFRESH_INTERVAL_MILLIS = Duration.ofSeconds(1L).toMillis();
-    private static final long REFRESH_PERIOD_TICKS = 10L;
-    private static final LegacyComponentSerializer LEGACY_SERIALIZER =
-            LegacyComponentSerializer.legacySection();
-    private static final char[] DIRECTION_ARROWS = {'⬆', '⬈', '➡', '⬊', '⬇', '⬋', '⬅', '⬉'};
+    private static final long REFRESH_PERIOD_TICKS = DuelsRefreshScheduler.PERIOD_TICKS;
+    private static final long LIFETIME_CHECK_TICKS = 20L * 60L;
 
     private DuelsScoreboard() {
     }
@@ -48,15 +39,17 @@ public final class DuelsScoreboard {
         Objects.requireNonNull(context, "context");
         Objects.requireNonNull(layout, "layout");
 
-        ScoreboardService service = resolveService();
-        if (service == null || hasState(context)) {
+        DuelsServices.Handle<ScoreboardService> scoreboard = DuelsServices.scoreboard();
+        if (!scoreboard.isAvailable() || hasState(context)) {
             return;
         }
+        ScoreboardService service = scoreboard.require();
 
         String scoreboardId = buildScoreboardId(context.getMatchId());
         if (service.isScoreboardRegistered(scoreboardId)) {
             service.unregisterScoreboard(scoreboardId);
         }
+        layout.matchDuration().ifPresent(DuelsTimeLeftLines::ensureCapacity);
         DuelsMatchClock clock = layout.matchDuration()
                 .map(DuelsMatchClock::start)
                 .orElseGet(DuelsMatchClock::infinite);
@@ -72,31 +65,42 @@ public final class DuelsScoreboard {
             builder.headerLabel(headerLabel);
         }
 
-        builder.module(new TimeLeftModule(clock));
+        DuelsScoreboardLineCache lineCache = new DuelsScoreboardLineCache();
+        builder.module(new TimeLeftModule(clock, lineCache));
 
+        DuelsOpponentResolver opponents = layout.secondModuleFactory().isEmpty()
+                ? DuelsOpponentResolver.create(context)
+                : null;
         ScoreboardModule secondModule = layout.secondModuleFactory()
                 .map(factory -> factory.create(context, clock))
-                .orElseGet(() -> new OpponentModule(context));
+                .orElseGet(() -> new OpponentModule(context, opponents,
+                        MatchDisplayNames.find(context).orElse(null), lineCache));
         builder.module(secondModule);
+        // Lines from layout-supplied modules are opaque, so those scoreboards always push.
+        boolean diffable = layout.secondModuleFactory().isEmpty() && layout.betweenModuleFactories().isEmpty();
 
         for (DuelsScoreboardLayout.ScoreboardModuleFactory factory : layout.betweenModuleFactories()) {
             builder.module(factory.create(context, clock));
         }
 
-        builder.module(new MetaModule(layout));
+        builder.module(new MetaModule(layout, lineCache));
 
         ScoreboardDefinition definition = builder.build();
         service.registerScoreboard(scoreboardId, definition);
 
-        BukkitTask refreshTask = context.scheduleRepeatingTask(() -> refresh(context),
-                REFRESH_PERIOD_TICKS, REFRESH_PERIOD_TICKS);
-        DuelsScoreboardState state = new DuelsScoreboardState(scoreboardId, clock, layout, refreshTask);
+        DuelsRefreshScheduler.Registration refreshRegistration = scheduleRefresh(context);
+        DuelsScoreboardState state = new DuelsScoreboardState(scoreboardId, clock, layout, refreshRegistration,
+                lineCache, diffable, opponents);
         context.setAttribute(SCOREBOARD_ATTRIBUTE, state);
         state.clock().setFrozen(context.isStateMachineFrozen());
 
+        if (opponents != null) {
+            opponents.snapshot();
+        }
         context.forEachPlayer(player -> {
             UUID playerId = player.getUniqueId();
             service.showScoreboard(playerId, scoreboardId);
+            lineCache.update(playerId);
             service.refreshPlayerScoreboard(playerId);
         });
         refresh(context);
@@ -106,12 +110,15 @@ public final class DuelsScoreboard {
         if (context == null || playerId == null) {
             return;
         }
-        ScoreboardService service = resolveService();
+        DuelsServices.Handle<ScoreboardService> scoreboard = DuelsServices.scoreboard();
         Optional<DuelsScoreboardState> state = resolveState(context);
-        if (service == null || state.isEmpty()) {
+        if (!scoreboard.isAvailable() || state.isEmpty()) {
             return;
         }
+        ScoreboardService service = scoreboard.require();
         service.showScoreboard(playerId, state.get().scoreboardId());
+        state.get().lineCache().forget(playerId);
+        state.get().lineCache().update(playerId);
         service.refreshPlayerScoreboard(playerId);
     }
 
@@ -119,47 +126,65 @@ public final class DuelsScoreboard {
         if (context == null || playerId == null) {
             return;
         }
-        ScoreboardService service = resolveService();
-        if (service == null) {
-            return;
-        }
-        service.hideScoreboard(playerId);
+        resolveState(context).ifPresent(state -> state.lineCache().forget(playerId));
+        DuelsServices.scoreboard().ifAvailable(service -> service.hideScoreboard(playerId));
     }
 
     public static void refresh(StateContext context) {
         if (context == null) {
             return;
         }
+        long started = DuelsTickProfiler.start();
+        try {
+            refreshPlayers(context);
+        } finally {
+            DuelsTickProfiler.record(DuelsTickPhase.SCOREBOARD_REFRESH, started);
+        }
+    }
+
+    private static void refreshPlayers(StateContext context) {
         Optional<DuelsScoreboardState> stateOpt = resolveState(context);
         if (stateOpt.isEmpty()) {
             return;
         }
         DuelsScoreboardState state = stateOpt.get();
         state.clock().setFrozen(context.isStateMachineFrozen());
-        ScoreboardService service = resolveService();
-        if (service == null) {
+        DuelsServices.Handle<ScoreboardService> scoreboard = DuelsServices.scoreboard();
+        if (!scoreboard.isAvailable()) {
             return;
         }
-        context.forEachPlayer(player -> service.refreshPlayerScoreboard(player.getUniqueId()));
+        ScoreboardService service = scoreboard.require();
+        if (state.opponents() != null) {
+            state.opponents().snapshot();
+        }
+        DuelsScoreboardLineCache lineCache = state.lineCache();
+        boolean diffable = state.diffable();
+        context.forEachPlayer(player -> {
+            UUID playerId = player.getUniqueId();
+            if (lineCache.update(playerId) || !diffable) {
+                service.refreshPlayerScoreboard(playerId);
+                DuelsMetrics.scoreboardRefreshed();
+            }
+        });
     }
 
     public static void teardown(StateContext context) {
         if (context == null) {
             return;
         }
-        ScoreboardService service = resolveService();
         Optional<DuelsScoreboardState> state = resolveState(context);
         if (state.isEmpty()) {
             return;
         }
         DuelsScoreboardState scoreboardState = state.get();
-        cancelRefreshTask(scoreboardState);
-        if (service != null) {
+        cancelRefresh(scoreboardState);
+        scoreboardState.lineCache().clear();
+        DuelsServices.scoreboard().ifAvailable(service -> {
             context.forEachPlayer(player -> service.hideScoreboard(player.getUniqueId()));
             if (service.isScoreboardRegistered(scoreboardState.scoreboardId())) {
                 service.unregisterScoreboard(scoreboardState.scoreboardId());
             }
-        }
+        });
         context.removeAttribute(SCOREBOARD_ATTRIBUTE);
     }
 
@@ -176,18 +201,34 @@ public final class DuelsScoreboard {
                 : context.getAttributeOptional(SCOREBOARD_ATTRIBUTE, DuelsScoreboardState.class);
     }
 
-    private static void cancelRefreshTask(DuelsScoreboardState state) {
-        if (state.refreshTask() != null) {
-            state.refreshTask().cancel();
+    private static DuelsRefreshScheduler.Registration scheduleRefresh(StateContext context) {
+        Optional<DuelsRefreshScheduler> scheduler = DuelsRefreshScheduler.current();
+        if (scheduler.isPresent()) {
+            // Tasks scheduled through the context are cancelled with it; this idle one only tells the shared wheel
+            // when the match is gone, even if teardown never ran.
+            BukkitTask lifetime = context.scheduleRepeatingTask(() -> {
+            }, LIFETIME_CHECK_TICKS, LIFETIME_CHECK_TICKS);
+            DuelsRefreshScheduler.Registration registration = scheduler.get().register(() -> {
+                if (lifetime.isCancelled() || !hasState(context)) {
+                    return false;
+                }
+                refresh(context);
+                return true;
+            });
+            return () -> {
+                registration.cancel();
+                lifetime.cancel();
+            };
         }
+        BukkitTask refreshTask = context.scheduleRepeatingTask(() -> refresh(context),
+                REFRESH_PERIOD_TICKS, REFRESH_PERIOD_TICKS);
+        return refreshTask::cancel;
     }
 
-    private static ScoreboardService resolveService() {
-        ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
-        if (locator == null) {
-            return null;
+    private static void cancelRefresh(DuelsScoreboardState state) {
+        if (state.refreshRegistration() != null) {
+            state.refreshRegistration().cancel();
         }
-        return locator.findService(ScoreboardService.class).orElse(null);
     }
 
     private static String buildScoreboardId(UUID matchId) {
@@ -195,15 +236,7 @@ public final class DuelsScoreboard {
     }
 
     private static String resolveHeaderLabel(StateContext context) {
-        Map<String, String> metadata = readSlotMetadata(context);
-        String slotId = context.getAttributeOptional(MinigameAttributes.SLOT_ID, String.class)
-                .map(String::trim)
-                .filter(id -> !id.isEmpty())
-                .orElseGet(() -> firstNonBlank(
-                        metadata.get("slotId"),
-                        metadata.get("slot"),
-                        metadata.get("slotName")));
-
+        String slotId = DuelsMatchSettings.of(context).slotId();
         if (slotId.isEmpty()) {
             throw new IllegalStateException("Missing slot identifier for duels scoreboard header");
         }
@@ -211,51 +244,22 @@ public final class DuelsScoreboard {
         return "&8" + slotId;
     }
 
-    private static Map<String, String> readSlotMetadata(StateContext context) {
-        return context.getAttributeOptional(MinigameAttributes.SLOT_METADATA, Map.class)
-                .map(raw -> {
-                    Map<String, String> metadata = new HashMap<>();
-                    ((Map<?, ?>) raw).forEach((key, value) -> {
-                        if (key == null || value == null) {
-                            return;
-                        }
-                        String stringKey = String.valueOf(key);
-                        String stringValue = String.valueOf(value).trim();
-                        if (!stringKey.isBlank() && !stringValue.isBlank()) {
-                            metadata.put(stringKey, stringValue);
-                        }
-                    });
-                    return metadata;
-                })
-                .orElseGet(Map::of);
-    }
-
-    private static String firstNonBlank(String... values) {
-        if (values == null) {
-            return "";
-        }
-        for (String value : values) {
-            if (value != null) {
-                String trimmed = value.trim();
-                if (!trimmed.isEmpty()) {
-                    return trimmed;
-                }
-            }
-        }
-        return "";
-    }
-
     private record DuelsScoreboardState(String scoreboardId, DuelsMatchClock clock,
-                                        DuelsScoreboardLayout layout, BukkitTask refreshTask) {
+                                        DuelsScoreboardLayout layout,
+                                        DuelsRefreshScheduler.Registration refreshRegistration,
+                                        DuelsScoreboardLineCache lineCache, boolean diffable,
+                                        DuelsOpponentResolver opponents) {
     }
 
     private static final class TimeLeftModule implements ScoreboardModule {
         private final DuelsMatchClock clock;
         private final DynamicContentProvider provider;
 
-        private TimeLeftModule(DuelsMatchClock clock) {
+        private TimeLeftModule(DuelsMatchClock clock, DuelsScoreboardLineCache lineCache) {
             this.clock = clock;
-            this.provider = new DynamicContentProvider(this::buildLines, STANDARD_REFRESH_INTERVAL_MILLIS);
+            int slot = lineCache.register(this::buildLines);
+            this.provider = new DynamicContentProvider(viewerId -> lineCache.lines(viewerId, slot),
+                    STANDARD_REFRESH_INTERVAL_MILLIS);
         }
 
         @Override
@@ -269,19 +273,27 @@ public final class DuelsScoreboard {
         }
 
         private List<String> buildLines(UUID ignored) {
-            List<String> lines = new ArrayList<>(1);
-            lines.add("&fTime Left: &a" + clock.formatRemaining());
+            long started = DuelsTickProfiler.start();
+            List<String> lines = DuelsTimeLeftLines.lines(clock);
+            DuelsTickProfiler.record(DuelsTickPhase.TIME_LEFT_LINES, started);
             return lines;
         }
     }
 
     private static final class OpponentModule implements ScoreboardModule {
         private final StateContext context;
+        private final DuelsOpponentResolver opponents;
+        private final MatchDisplayNames names;
         private final DynamicContentProvider provider;
 
-        private OpponentModule(StateContext context) {
+        private OpponentModule(StateContext context, DuelsOpponentResolver opponents, MatchDisplayNames names,
+                               DuelsScoreboardLineCache lineCache) {
             this.context = context;
-            this.provider = new DynamicContentProvider(this::buildLines, FAST_REFRESH_INTERVAL_MILLIS);
+            this.opponents = opponents;
+            this.names = names;
+            int slot = lineCache.register(this::buildLines);
+            this.provider = new DynamicContentProvider(viewerId -> lineCache.lines(viewerId, slot),
+                    FAST_REFRESH_INTERVAL_MILLIS);
         }
 
         @Override
@@ -295,98 +307,60 @@ public final class DuelsScoreboard {
         }
 
         private List<String> buildLines(UUID viewerId) {
-            List<String> lines = new ArrayList<>(2);
-            lines.add("&f&lOpponent:");
-            Optional<Player> viewerOpt = context.findPlayer(viewerId);
-            if (viewerOpt.isEmpty()) {
-                lines.add("&7Unavailable");
-                return lines;
+            long started = DuelsTickProfiler.start();
+            try {
+                return renderLines(viewerId);
+            } finally {
+                DuelsTickProfiler.record(DuelsTickPhase.OPPONENT_LINES, started);
             }
-
-            Player viewer = viewerOpt.get();
-            String viewerTeamId = context.team(viewerId)
-                    .map(MatchTeam::getId)
-                    .orElse(null);
-            Player opponent = findPrimaryOpponent(viewer, viewerTeamId);
-            if (opponent == null) {
-                lines.add("&7Searching...");
-                return lines;
-            }
-
-            String arrow = directionArrow(viewer.getLocation(), opponent.getLocation());
-            String name = resolveColoredName(opponent);
-            String health = formatHealth(opponent);
-            lines.add("&7" + arrow + " " + name + " " + health);
-            return lines;
         }
 
-        private Player findPrimaryOpponent(Player viewer, String viewerTeamId) {
-            double nearestDistance = Double.MAX_VALUE;
-            Player nearest = null;
-
-            for (MatchTeam team : context.teams().teams()) {
-                if (viewerTeamId != null && viewerTeamId.equals(team.getId())) {
-                    continue;
-                }
-                for (UUID memberId : team.members()) {
-                    if (!isActive(memberId)) {
-                        continue;
-                    }
-                    Player opponent = context.findPlayer(memberId).orElse(null);
-                    if (opponent == null) {
-                        continue;
-                    }
-                    double distance = viewer.getLocation().distanceSquared(opponent.getLocation());
-                    if (distance < nearestDistance) {
-                        nearestDistance = distance;
-                        nearest = opponent;
-                    }
+        private List<String> renderLines(UUID viewerId) {
+            DuelsOpponentPairing pairing = opponents.pairing();
+            int viewerIndex = opponents.indexOf(viewerId);
+            if (viewerIndex != DuelsOpponentResolver.NONE && pairing.isSampled(viewerIndex)) {
+                int opponentIndex = pairing.nearestOpponent(viewerIndex);
+                if (opponentIndex == DuelsOpponentResolver.NONE) {
+                    return DuelsOpponentLines.SEARCHING_LINES;
                 }
+                Player opponent = opponents.player(opponentIndex);
+                return DuelsOpponentLines.render(pairing, viewerIndex, opponentIndex, resolveColoredName(opponent),
+                        opponent.getHealth(), opponent.getMaxHealth());
             }
-            return nearest;
-        }
-
-        private boolean isActive(UUID playerId) {
-            RosterManager.Entry entry = context.roster().get(playerId);
-            return entry != null && entry.getState() == PlayerState.ACTIVE;
+            Player viewer = context.findPlayer(viewerId).orElse(null);
+            if (viewer == null) {
+                return DuelsOpponentLines.UNAVAILABLE_LINES;
+            }
+            int opponentIndex = opponents.nearestTo(viewer);
+            if (opponentIndex == DuelsOpponentResolver.NONE) {
+                return DuelsOpponentLines.SEARCHING_LINES;
+            }
+            Player opponent = opponents.player(opponentIndex);
+            Location location = viewer.getLocation();
+            return DuelsOpponentLines.render(pairing, opponentIndex, location.getX(), location.getY(),
+                    location.getZ(), location.getYaw(), resolveColoredName(opponent), opponent.getHealth(),
+                    opponent.getMaxHealth());
         }
 
         private String resolveColoredName(Player player) {
-            Rank rank = RankUtils.getEffectiveRank(player);
-            NamedTextColor color = rank != null && rank.getNameColor() != null
-                    ? rank.getNameColor()
-                    : NamedTextColor.WHITE;
-            Component component = Component.text(player.getName(), color);
-            String legacy = LEGACY_SERIALIZER.serialize(component);
-            return legacy.replace('\u00A7', '&');
-        }
-
-        private String formatHealth(Player player) {
-            double maxHealth = player.getMaxHealth();
-            double health = Math.max(0D, Math.min(player.getHealth(), maxHealth));
-            int hearts = (int) Math.ceil(health / 2D);
-            hearts = Math.max(0, hearts);
-            return "&a" + hearts + "&c❤";
-        }
-
-        private String directionArrow(Location source, Location target) {
-            Vector delta = target.toVector().subtract(source.toVector());
-            if (delta.lengthSquared() < 0.01D) {
-                return "•";
-            }
-            double yawRadians = Math.toRadians(source.getYaw());
-            double angleToTarget = Math.atan2(-delta.getX(), delta.getZ());
-            double relative = (angleToTarget - yawRadians + (Math.PI * 2)) % (Math.PI * 2);
-            int index = (int) Math.round(relative / (Math.PI / 4)) & 7;
-            return String.valueOf(DIRECTION_ARROWS[index]);
+            MatchDisplayNames.DisplayName displayName = names != null
+                    ? names.get(player)
+                    : MatchDisplayNames.resolve(player);
+            return displayName.legacy();
         }
     }
 
     private static final class MetaModule implements ScoreboardModule {
-        private final StaticContentProvider provider;
+        private static final String STREAK_PLACEHOLDER = "--";
+
+        private final String modeLine;
+        private final DynamicContentProvider provider;
 
-        private MetaModule(DuelsScoreboardLayout layout) {
-            this.provider = new StaticContentProvider(buildLines(layout));
+        private MetaModule(DuelsScoreboardLayout layout, DuelsScoreboardLineCache lineCache) {
+            this.modeLine = "&fMode: &a" + layout.modeLabel();
+            int slot = lineCache.register(this::buildLines);
+            this.provider = new DynamicContentProvider(viewerId -> lineCache.lines(viewerId, slot),
+                    STANDARD_REFRESH_INTERVAL_MILLIS);
         }
 
         @Override
@@ -395,15 +369,23 @@ public final class DuelsScoreboard {
         }
 
         @Override
-        public StaticContentProvider getContentProvider() {
+        public DynamicContentProvider getContentProvider() {
             return provider;
         }
 
-        private List<String> buildLines(DuelsScoreboardLayout layout) {
+        private List<String> buildLines(UUID viewerId) {
+            // Stats load while the player waits in the pre-lobby; until then the placeholder stands in.
+            Optional<PlayerStats> stats = PlayerStatsCache.peek(viewerId);
+            String streak = stats
+                    .map(value -> Integer.toString(value.dailyStreakOn(PlayerStatsCache.today())))
+                    .orElse(STREAK_PLACEHOLDER);
+            String best = stats
+                    .map(value -> Integer.toString(value.bestDailyStreak()))
+                    .orElse(STREAK_PLACEHOLDER);
             return List.of(
-                    "&fMode: &a" + layout.modeLabel(),
-                    "&fDaily Streak: &a--",
-                    "&fBest Daily Streak: &a--"
+                    modeLine,
+                    "&fDaily Streak: &a" + streak,
+                    "&fBest Daily Streak: &a" + best
             );
         }
     }
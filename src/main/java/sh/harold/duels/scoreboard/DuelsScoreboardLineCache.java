@@ -0,0 +1,65 @@
+package sh.harold.duels.scoreboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remembers the last lines each viewer was sent so unchanged scoreboards are not pushed again.
+ */
+final class DuelsScoreboardLineCache {
+    private final List<Renderer> renderers = new ArrayList<>();
+    private final Map<UUID, List<List<String>>> renderedByViewer = new HashMap<>();
+
+    int register(Renderer renderer) {
+        renderers.add(renderer);
+        return renderers.size() - 1;
+    }
+
+    /**
+     * Re-renders every module for the viewer and reports whether any line differs from the cached copy.
+     */
+    boolean update(UUID viewerId) {
+        List<List<String>> cached = renderedByViewer.get(viewerId);
+        if (cached == null) {
+            cached = new ArrayList<>(renderers.size());
+            for (Renderer renderer : renderers) {
+                cached.add(renderer.render(viewerId));
+            }
+            renderedByViewer.put(viewerId, cached);
+            return true;
+        }
+        boolean changed = false;
+        for (int slot = 0; slot < renderers.size(); slot++) {
+            List<String> lines = renderers.get(slot).render(viewerId);
+            if (!lines.equals(cached.get(slot))) {
+                cached.set(slot, lines);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    List<String> lines(UUID viewerId, int slot) {
+        List<List<String>> cached = renderedByViewer.get(viewerId);
+        if (cached == null) {
+            return renderers.get(slot).render(viewerId);
+        }
+        return cached.get(slot);
+    }
+
+    void forget(UUID viewerId) {
+        renderedByViewer.remove(viewerId);
+    }
+
+    void clear() {
+        renderedByViewer.clear();
+    }
+
+    @FunctionalInterface
+    interface Renderer {
+        List<String> render(UUID viewerId);
+    }
+}
@@ -0,0 +1,78 @@
+package sh.harold.duels.scoreboard;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Interned, fully rendered "Time Left" lines for every second up to the longest registered match duration, capped
+ * at {@link #MAX_INTERNED_SECONDS}; longer remainders are formatted on demand.
+ */
+public final class DuelsTimeLeftLines {
+    static final int MAX_INTERNED_SECONDS = 3_600;
+    private static final String PREFIX = "&fTime Left: &a";
+    private static final List<String> INFINITE_LINES = List.of(PREFIX + "∞");
+
+    private static volatile List<String>[] table = render(0);
+
+    private DuelsTimeLeftLines() {
+    }
+
+    /**
+     * Grows the table so every second of the duration, up to {@link #MAX_INTERNED_SECONDS}, resolves to a cached
+     * line.
+     */
+    public static void ensureCapacity(Duration duration) {
+        Objects.requireNonNull(duration, "duration");
+        int seconds = (int) Math.min(MAX_INTERNED_SECONDS, Math.max(0L, duration.toSeconds()));
+        if (seconds < table.length) {
+            return;
+        }
+        synchronized (DuelsTimeLeftLines.class) {
+            if (seconds >= table.length) {
+                table = render(seconds);
+            }
+        }
+    }
+
+    static List<String> lines(DuelsMatchClock clock) {
+        if (clock.isInfinite()) {
+            return INFINITE_LINES;
+        }
+        long seconds = clock.remainingSeconds();
+        List<String>[] current = table;
+        if (seconds < current.length) {
+            return current[(int) seconds];
+        }
+        return List.of(PREFIX + clock.formatRemaining());
+    }
+
+    static String format(long totalSeconds) {
+        long hours = totalSeconds / 3600;
+        long minutes = (totalSeconds % 3600) / 60;
+        long seconds = totalSeconds % 60;
+        StringBuilder builder = new StringBuilder(8);
+        if (hours > 0) {
+            builder.append(hours).append(':');
+        } else if (minutes < 10) {
+            builder.append('0');
+        }
+        if (hours > 0 && minutes < 10) {
+            builder.append('0');
+        }
+        builder.append(minutes).append(':');
+        if (seconds < 10) {
+            builder.append('0');
+        }
+        return builder.append(seconds).toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] render(int maxSeconds) {
+        List<String>[] lines = new List[maxSeconds + 1];
+        for (int second = 0; second <= maxSeconds; second++) {
+            lines[second] = List.of((PREFIX + format(second)).intern());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,53 @@
+package sh.harold.duels.stats;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+import sh.harold.duels.DuelsFiles;
+
+/**
+ * One small text file per player, {@code <uuid>.stats}, holding {@code day dailyStreak bestDailyStreak}.
+ */
+public final class FilePlayerStatsStore implements PlayerStatsStore {
+    private final Path directory;
+
+    public FilePlayerStatsStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public PlayerStats load(UUID playerId) throws IOException {
+        Path file = fileOf(playerId);
+        String content;
+        try {
+            content = Files.readString(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException ex) {
+            return PlayerStats.EMPTY;
+        }
+        String[] fields = content.trim().split(" ");
+        if (fields.length != 3) {
+            throw new IOException("Malformed stats file " + file);
+        }
+        try {
+            return new PlayerStats(LocalDate.parse(fields[0]), Integer.parseInt(fields[1]),
+                    Integer.parseInt(fields[2]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IOException("Malformed stats file " + file, ex);
+        }
+    }
+
+    @Override
+    public void save(UUID playerId, PlayerStats stats) throws IOException {
+        DuelsFiles.writeAtomically(fileOf(playerId), temp -> Files.writeString(temp,
+                stats.day() + " " + stats.dailyStreak() + " " + stats.bestDailyStreak(), StandardCharsets.UTF_8));
+    }
+
+    private Path fileOf(UUID playerId) {
+        return directory.resolve(playerId + ".stats");
+    }
+}
@@ -0,0 +1,24 @@
+package sh.harold.duels.stats;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable streak counters for one player. The daily streak counts consecutive wins on {@code day} (UTC) and
+ * starts over on a loss or a new day; ties leave it untouched.
+ */
+public record PlayerStats(LocalDate day, int dailyStreak, int bestDailyStreak) {
+    public static final PlayerStats EMPTY = new PlayerStats(LocalDate.EPOCH, 0, 0);
+
+    public int dailyStreakOn(LocalDate today) {
+        return today.equals(day) ? dailyStreak : 0;
+    }
+
+    PlayerStats afterWin(LocalDate today) {
+        int streak = dailyStreakOn(today) + 1;
+        return new PlayerStats(today, streak, Math.max(bestDailyStreak, streak));
+    }
+
+    PlayerStats afterLoss(LocalDate today) {
+        return new PlayerStats(today, 0, bestDailyStreak);
+    }
+}
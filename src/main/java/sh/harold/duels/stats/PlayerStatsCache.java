@@ -0,0 +1,231 @@
+package sh.harold.duels.stats;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Read-through cache of {@link PlayerStats}. The main thread only ever peeks: a miss queues an async load and the
+ * caller renders a placeholder until it lands. Entries expire after {@link #EXPIRE_AFTER_ACCESS_NANOS} without a
+ * read and the least recently read go first past {@link #MAX_ENTRIES}.
+ *
+ * <p>Loads, streak updates and saves all run on one worker thread, so updates for a player apply in order and
+ * write through to the store before the next one starts.
+ */
+public final class PlayerStatsCache {
+    static final int MAX_ENTRIES = 2_048;
+    private static final long EXPIRE_AFTER_ACCESS_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long RETRY_FAILED_LOAD_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long STOP_TIMEOUT_SECONDS = 10L;
+
+    private static volatile PlayerStatsCache instance;
+
+    private final Logger logger;
+    private final PlayerStatsStore store;
+    private final ExecutorService worker;
+    private final Listener listener = new JoinListener();
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long lastSweepNanos = System.nanoTime();
+
+    private PlayerStatsCache(JavaPlugin plugin, PlayerStatsStore store) {
+        this.logger = plugin.getLogger();
+        this.store = store;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duels-stats-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void start(JavaPlugin plugin) {
+        start(plugin, new FilePlayerStatsStore(plugin.getDataFolder().toPath().resolve("stats")));
+    }
+
+    public static void start(JavaPlugin plugin, PlayerStatsStore store) {
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(store, "store");
+        if (instance != null) {
+            return;
+        }
+        PlayerStatsCache cache = new PlayerStatsCache(plugin, store);
+        plugin.getServer().getPluginManager().registerEvents(cache.listener, plugin);
+        instance = cache;
+    }
+
+    /**
+     * Stops taking work and waits for queued write-throughs to reach the store.
+     */
+    public static void stop() {
+        PlayerStatsCache cache = instance;
+        if (cache == null) {
+            return;
+        }
+        instance = null;
+        HandlerList.unregisterAll(cache.listener);
+        cache.worker.shutdown();
+        try {
+            if (!cache.worker.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                cache.logger.warning("Player stats worker did not finish within " + STOP_TIMEOUT_SECONDS
+                        + " s; some streak updates were not saved");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts loading {@code playerId} unless it is already cached or loading.
+     */
+    public static void prefetch(UUID playerId) {
+        PlayerStatsCache cache = instance;
+        if (cache != null && playerId != null) {
+            cache.entry(playerId);
+        }
+    }
+
+    /**
+     * Cached stats, or empty while they are still loading; never blocks.
+     */
+    public static Optional<PlayerStats> peek(UUID playerId) {
+        PlayerStatsCache cache = instance;
+        if (cache == null || playerId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.entry(playerId).stats);
+    }
+
+    public static void recordWin(UUID playerId) {
+        update(playerId, true);
+    }
+
+    public static void recordLoss(UUID playerId) {
+        update(playerId, false);
+    }
+
+    public static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static void update(UUID playerId, boolean win) {
+        PlayerStatsCache cache = instance;
+        if (cache == null || playerId == null) {
+            return;
+        }
+        Entry entry = cache.entry(playerId);
+        LocalDate today = today();
+        cache.submit(() -> {
+            PlayerStats current = entry.stats != null ? entry.stats : cache.store.load(playerId);
+            PlayerStats updated = win ? current.afterWin(today) : current.afterLoss(today);
+            entry.stats = updated;
+            cache.store.save(playerId, updated);
+        }, "update stats for " + playerId);
+    }
+
+    private Entry entry(UUID playerId) {
+        long now = System.nanoTime();
+        Entry entry;
+        boolean load = false;
+        synchronized (entries) {
+            if (now - lastSweepNanos >= SWEEP_INTERVAL_NANOS) {
+                sweep(now);
+            }
+            entry = entries.get(playerId);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(playerId, entry);
+                load = true;
+            } else if (entry.failed && entry.stats == null && now - entry.failedAtNanos >= RETRY_FAILED_LOAD_NANOS) {
+                entry.failed = false;
+                load = true;
+            }
+            entry.lastAccessNanos = now;
+        }
+        if (load) {
+            Entry loading = entry;
+            submit(() -> {
+                // A write-through queued first may already have filled the entry.
+                if (loading.stats != null) {
+                    return;
+                }
+                try {
+                    loading.stats = store.load(playerId);
+                } catch (IOException | RuntimeException ex) {
+                    loading.failedAtNanos = System.nanoTime();
+                    loading.failed = true;
+                    throw ex;
+                }
+            }, "load stats for " + playerId);
+        }
+        return entry;
+    }
+
+    private void sweep(long now) {
+        lastSweepNanos = now;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastAccessNanos < EXPIRE_AFTER_ACCESS_NANOS) {
+                // Access order: everything after this was read more recently.
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private void submit(IoTask task, String description) {
+        try {
+            worker.execute(() -> {
+                try {
+                    task.run();
+                } catch (IOException | RuntimeException ex) {
+                    logger.log(Level.WARNING, "Unable to " + description, ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            logger.fine("Stats cache stopped; skipped " + description);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+
+    private static final class Entry {
+        private volatile PlayerStats stats;
+        private volatile boolean failed;
+        private volatile long failedAtNanos;
+        private long lastAccessNanos;
+    }
+
+    private final class JoinListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            // Players join a duels slot as its pre-lobby countdown starts, well before the scoreboard needs them.
+            entry(event.getPlayer().getUniqueId());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package sh.harold.duels.stats;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Backing store for {@link PlayerStats}. Only called from the stats cache's worker thread.
+ */
+public interface PlayerStatsStore {
+    /**
+     * Returns the stored stats, or {@link PlayerStats#EMPTY} for a player with none.
+     */
+    PlayerStats load(UUID playerId) throws IOException;
+
+    void save(UUID playerId, PlayerStats stats) throws IOException;
+}
@@ -0,0 +1,87 @@
+package sh.harold.duels.sumo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.bukkit.Location;
+import com.google.gson.JsonObject;
+
+/**
+ * Where a match is played: its world, the offset of its map copy, and the horizontal bounds its combatants must
+ * stay inside. A match with its own world is unbounded; an instanced match owns one cell of a square grid laid
+ * over a shared world, and leaving that cell counts as falling off.
+ */
+record SumoArena(UUID worldId, double offsetX, double offsetZ, double minX, double minZ, double maxX,
+                 double maxZ) {
+
+    static SumoArena wholeWorld(UUID worldId) {
+        return new SumoArena(worldId, 0D, 0D, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * The grid cell of {@code cellSize} blocks that contains {@code anchor}, usually the match spawn.
+     */
+    static SumoArena cell(Location anchor, int cellSize) {
+        long cellX = Math.floorDiv((long) Math.floor(anchor.getX()), cellSize);
+        long cellZ = Math.floorDiv((long) Math.floor(anchor.getZ()), cellSize);
+        double minX = cellX * (double) cellSize;
+        double minZ = cellZ * (double) cellSize;
+        return new SumoArena(anchor.getWorld().getUID(), minX, minZ, minX, minZ, minX + cellSize, minZ + cellSize);
+    }
+
+    boolean isInstanced() {
+        return minX != Double.NEGATIVE_INFINITY;
+    }
+
+    boolean contains(double x, double z) {
+        return x >= minX && x < maxX && z >= minZ && z < maxZ;
+    }
+
+    /**
+     * Keeps the POIs inside this arena, moved into the map's own coordinates so every copy of a map shares one
+     * cached template.
+     */
+    Map<Location, JsonObject> localize(Map<Location, JsonObject> worldPois) {
+        if (!isInstanced()) {
+            return worldPois;
+        }
+        Map<Location, JsonObject> local = new LinkedHashMap<>();
+        worldPois.forEach((location, config) -> {
+            if (contains(location.getX(), location.getZ())) {
+                local.put(new Location(location.getWorld(), location.getX() - offsetX, location.getY(),
+                        location.getZ() - offsetZ, location.getYaw(), location.getPitch()), config);
+            }
+        });
+        return local;
+    }
+
+    /**
+     * Order-independent hash of the POIs {@link #localize} would keep, cheap enough to check on every match so an
+     * edited map is re-parsed instead of served from a stale template.
+     */
+    long fingerprint(Map<Location, JsonObject> worldPois) {
+        long sum = 0L;
+        int count = 0;
+        for (Map.Entry<Location, JsonObject> poi : worldPois.entrySet()) {
+            Location location = poi.getKey();
+            if (isInstanced() && !contains(location.getX(), location.getZ())) {
+                continue;
+            }
+            long hash = Double.hashCode(location.getX() - offsetX);
+            hash = hash * 31L + Double.hashCode(location.getY());
+            hash = hash * 31L + Double.hashCode(location.getZ() - offsetZ);
+            hash = hash * 31L + Float.hashCode(location.getYaw());
+            hash = hash * 31L + poi.getValue().hashCode();
+            sum += mix(hash);
+            count++;
+        }
+        return mix(sum ^ count);
+    }
+
+    private static long mix(long value) {
+        long mixed = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return mixed ^ (mixed >>> 33);
+    }
+}
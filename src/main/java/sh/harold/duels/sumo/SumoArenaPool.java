@@ -0,0 +1,275 @@
+package sh.harold.duels.sumo;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.FallingBlock;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Projectile;
+import org.bukkit.entity.TNTPrimed;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import sh.harold.duels.DuelsMatchSettings;
+import sh.harold.duels.metrics.DuelsMetrics;
+
+/**
+ * Keeps the spawn chunks of recently finished arenas loaded with plugin chunk tickets, so the next match the
+ * environment service places there skips chunk loading. Arenas are reset in place when their match ends, at most
+ * {@code size} idle arenas are kept per map, and idle arenas are released after {@code idle-seconds}.
+ *
+ * <p>Only instanced cells are pooled: they live in a shared world that outlasts the match, so the next match on
+ * the same cell finds them warm. A match with a world of its own never sees that world again.
+ *
+ * <p>Main thread only.
+ */
+public final class SumoArenaPool {
+    /**
+     * Scoreboard tag that keeps map decoration inside an arena from being cleared between matches.
+     */
+    public static final String KEEP_TAG = "duels:keep";
+    private static final String CELL_SIZE_KEY = "cell-size";
+    private static final int DEFAULT_SIZE = 4;
+    private static final long DEFAULT_IDLE_SECONDS = 300L;
+    private static final long SWEEP_PERIOD_TICKS = 20L * 30L;
+
+    private final Map<SumoArena, Entry> arenas = new HashMap<>();
+    private final Listener listener = new UnloadListener();
+    private JavaPlugin plugin;
+    private BukkitTask sweepTask;
+    private int size = DEFAULT_SIZE;
+    private long idleMillis = DEFAULT_IDLE_SECONDS * 1_000L;
+    private int cellSize;
+
+    /**
+     * Reads {@code size}, {@code idle-seconds} and {@code cell-size} from {@code section}, which may be
+     * {@code null}; a size of 0 keeps no arena loaded between matches.
+     */
+    public void start(JavaPlugin plugin, ConfigurationSection section) {
+        if (this.plugin != null) {
+            return;
+        }
+        if (section != null) {
+            size = Math.max(0, section.getInt("size", DEFAULT_SIZE));
+            idleMillis = Math.max(1L, section.getLong("idle-seconds", DEFAULT_IDLE_SECONDS)) * 1_000L;
+            cellSize = Math.max(0, section.getInt(CELL_SIZE_KEY, 0));
+        }
+        if (size > 0 && cellSize == 0) {
+            plugin.getLogger().info("Sumo arena pooling is inactive unless slots carry "
+                    + DuelsMatchSettings.ARENA_CELL_SIZE_KEY + " metadata: only instanced arenas are pooled and "
+                    + "sumo.arena-pool." + CELL_SIZE_KEY + " is not set");
+        }
+        this.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+        sweepTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::evictIdle, SWEEP_PERIOD_TICKS,
+                SWEEP_PERIOD_TICKS);
+    }
+
+    /**
+     * Cell size for slots without {@link DuelsMatchSettings#ARENA_CELL_SIZE_KEY} metadata, or 0 to give those
+     * matches their whole world.
+     */
+    int cellSize() {
+        return cellSize;
+    }
+
+    public void stop() {
+        if (plugin == null) {
+            return;
+        }
+        sweepTask.cancel();
+        HandlerList.unregisterAll(listener);
+        arenas.values().forEach(this::discard);
+        arenas.clear();
+        plugin = null;
+    }
+
+    /**
+     * Claims {@code arena} for a starting match and returns whether it was still warm from an earlier one.
+     */
+    boolean acquire(String mapKey, SumoArena arena, Location[] targets) {
+        if (plugin == null || !arena.isInstanced()) {
+            return false;
+        }
+        Entry entry = arenas.get(arena);
+        if (entry != null && entry.users == 0 && entry.ticketed) {
+            DuelsMetrics.warmArenasChanged(-1);
+        }
+        boolean warm = entry != null && entry.ticketed;
+        if (entry == null) {
+            entry = new Entry(mapKey, arena.worldId(), SumoMatchStartPipeline.chunkKeys(targets));
+            arenas.put(arena, entry);
+        }
+        entry.users++;
+        if (warm) {
+            DuelsMetrics.arenaPoolHit();
+        } else {
+            DuelsMetrics.arenaProvisionedCold();
+        }
+        return warm;
+    }
+
+    /**
+     * Resets {@code arena} after its match ended and keeps it loaded while the map has room in the pool.
+     */
+    void release(SumoArena arena) {
+        if (plugin == null) {
+            return;
+        }
+        Entry entry = arenas.get(arena);
+        if (entry == null || --entry.users > 0) {
+            return;
+        }
+        World world = plugin.getServer().getWorld(entry.worldId);
+        if (world == null) {
+            arenas.remove(arena);
+            return;
+        }
+        resetInPlace(world, arena, entry);
+        if (size == 0) {
+            cool(entry);
+            arenas.remove(arena);
+            return;
+        }
+        makeRoom(entry);
+        entry.ticketed = true;
+        for (long chunkKey : entry.chunkKeys) {
+            int chunkX = SumoMatchStartPipeline.chunkX(chunkKey);
+            int chunkZ = SumoMatchStartPipeline.chunkZ(chunkKey);
+            // A ticket on an unloaded chunk would load it synchronously; those are left to the next start.
+            if (world.isChunkLoaded(chunkX, chunkZ)) {
+                world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+            }
+        }
+        entry.idleSinceMillis = System.currentTimeMillis();
+        DuelsMetrics.warmArenasChanged(1);
+    }
+
+    /**
+     * Clears what a round leaves behind: drops, projectiles and mobs. Players are returned to the lobby by the
+     * environment service. Map decoration such as armor stands and displays stays, as do named mobs and anything
+     * tagged {@link #KEEP_TAG}.
+     */
+    private void resetInPlace(World world, SumoArena arena, Entry entry) {
+        for (long chunkKey : entry.chunkKeys) {
+            int chunkX = SumoMatchStartPipeline.chunkX(chunkKey);
+            int chunkZ = SumoMatchStartPipeline.chunkZ(chunkKey);
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                continue;
+            }
+            Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+            for (Entity entity : chunk.getEntities()) {
+                Location location = entity.getLocation();
+                if (isLeftover(entity) && arena.contains(location.getX(), location.getZ())) {
+                    entity.remove();
+                }
+            }
+        }
+    }
+
+    private static boolean isLeftover(Entity entity) {
+        if (entity.getScoreboardTags().contains(KEEP_TAG)) {
+            return false;
+        }
+        if (entity instanceof Mob mob) {
+            return mob.customName() == null;
+        }
+        return entity instanceof Item || entity instanceof Projectile || entity instanceof ExperienceOrb
+                || entity instanceof FallingBlock || entity instanceof TNTPrimed;
+    }
+
+    private void makeRoom(Entry released) {
+        int idle = 0;
+        Entry oldest = null;
+        SumoArena oldestArena = null;
+        for (Map.Entry<SumoArena, Entry> candidate : arenas.entrySet()) {
+            Entry entry = candidate.getValue();
+            if (entry == released || !entry.mapKey.equals(released.mapKey) || entry.users > 0 || !entry.ticketed) {
+                continue;
+            }
+            idle++;
+            if (oldest == null || entry.idleSinceMillis < oldest.idleSinceMillis) {
+                oldest = entry;
+                oldestArena = candidate.getKey();
+            }
+        }
+        if (idle >= size && oldest != null) {
+            discard(oldest);
+            arenas.remove(oldestArena);
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        for (Iterator<Map.Entry<SumoArena, Entry>> iterator = arenas.entrySet().iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next().getValue();
+            if (entry.users == 0 && entry.idleSinceMillis < cutoff) {
+                discard(entry);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void discard(Entry entry) {
+        if (entry.users == 0 && entry.ticketed) {
+            DuelsMetrics.warmArenasChanged(-1);
+        }
+        cool(entry);
+    }
+
+    private void cool(Entry entry) {
+        if (!entry.ticketed) {
+            return;
+        }
+        entry.ticketed = false;
+        World world = plugin.getServer().getWorld(entry.worldId);
+        if (world == null) {
+            return;
+        }
+        for (long chunkKey : entry.chunkKeys) {
+            world.removePluginChunkTicket(SumoMatchStartPipeline.chunkX(chunkKey),
+                    SumoMatchStartPipeline.chunkZ(chunkKey), plugin);
+        }
+    }
+
+    private static final class Entry {
+        private final String mapKey;
+        private final UUID worldId;
+        private final long[] chunkKeys;
+        private int users;
+        private boolean ticketed;
+        private long idleSinceMillis;
+
+        private Entry(String mapKey, UUID worldId, long[] chunkKeys) {
+            this.mapKey = mapKey;
+            this.worldId = worldId;
+            this.chunkKeys = chunkKeys;
+        }
+    }
+
+    private final class UnloadListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onWorldUnload(WorldUnloadEvent event) {
+            UUID worldId = event.getWorld().getUID();
+            for (Iterator<Entry> iterator = arenas.values().iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                if (entry.worldId.equals(worldId)) {
+                    discard(entry);
+                    iterator.remove();
+                }
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@ package sh.harold.duels.sumo;
 
 final class SumoAttributes {
     static final String MATCH_CONTEXT = "duels.sumo.matchContext";
-    static final String HEALTH_GUARD_METADATA = "duels.sumo.noHealthLoss";
 
     private SumoAttributes() {
     }
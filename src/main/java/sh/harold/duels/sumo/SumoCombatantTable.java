@@ -0,0 +1,192 @@
+package sh.harold.duels.sumo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.bukkit.entity.Player;
+import sh.harold.fulcrum.minigame.match.RosterManager;
+import sh.harold.fulcrum.minigame.state.context.StateContext;
+import sh.harold.fulcrum.minigame.team.MatchTeam;
+
+/**
+ * Index-addressed snapshot of every combatant, built once when the match starts.
+ */
+final class SumoCombatantTable {
+    static final int NO_ENTITY = -1;
+
+    private final List<MatchTeam> teams;
+    private final int teamCount;
+    private final UUID[] playerIds;
+    private final Map<UUID, Integer> indexById;
+    private final Player[] players;
+    private final int[] teamIndices;
+    private final boolean[] active;
+    private final int[] guardedEntityIds;
+    private final boolean[] belowTie;
+    private final boolean[] belowElimination;
+    private int belowTieCount;
+    private int belowEliminationCount;
+
+    private SumoCombatantTable(List<MatchTeam> teams, int teamCount, int size) {
+        this.teams = List.copyOf(teams);
+        this.teamCount = teamCount;
+        this.playerIds = new UUID[size];
+        this.indexById = new HashMap<>(size * 2);
+        this.players = new Player[size];
+        this.teamIndices = new int[size];
+        this.active = new boolean[size];
+        this.guardedEntityIds = new int[size];
+        Arrays.fill(guardedEntityIds, NO_ENTITY);
+        this.belowTie = new boolean[size];
+        this.belowElimination = new boolean[size];
+    }
+
+    static SumoCombatantTable build(StateContext context, List<MatchTeam> teams) {
+        int size = 0;
+        for (MatchTeam team : teams) {
+            size += team.members().size();
+        }
+        SumoCombatantTable table = new SumoCombatantTable(teams, teams.size(), size);
+        int index = 0;
+        for (int teamIndex = 0; teamIndex < teams.size(); teamIndex++) {
+            for (UUID memberId : teams.get(teamIndex).members()) {
+                RosterManager.Entry entry = context.roster().get(memberId);
+                table.playerIds[index] = memberId;
+                table.indexById.put(memberId, index);
+                table.players[index] = context.findPlayer(memberId).orElse(null);
+                table.teamIndices[index] = teamIndex;
+                table.active[index] = entry != null && entry.getState() == RosterManager.PlayerState.ACTIVE;
+                index++;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Table without Fulcrum teams or player handles; every combatant starts active and absent.
+     */
+    static SumoCombatantTable detached(int teamCount, UUID[] playerIds, int[] teamIndices) {
+        SumoCombatantTable table = new SumoCombatantTable(List.of(), teamCount, playerIds.length);
+        for (int index = 0; index < playerIds.length; index++) {
+            table.playerIds[index] = playerIds[index];
+            table.indexById.put(playerIds[index], index);
+            table.teamIndices[index] = teamIndices[index];
+            table.active[index] = true;
+        }
+        return table;
+    }
+
+    int size() {
+        return playerIds.length;
+    }
+
+    /**
+     * Constant time: movement events call this for every step of every combatant.
+     */
+    int indexOf(UUID playerId) {
+        Integer index = indexById.get(playerId);
+        return index != null ? index : -1;
+    }
+
+    UUID playerId(int index) {
+        return playerIds[index];
+    }
+
+    /**
+     * Cached handle, or {@code null} once the player disconnected.
+     */
+    Player player(int index) {
+        return players[index];
+    }
+
+    boolean isActive(int index) {
+        return active[index];
+    }
+
+    int teamIndex(int index) {
+        return teamIndices[index];
+    }
+
+    int teamCount() {
+        return teamCount;
+    }
+
+    MatchTeam team(int teamIndex) {
+        return teams.get(teamIndex);
+    }
+
+    List<Player> players(int teamIndex, boolean matching) {
+        List<Player> result = new ArrayList<>(players.length);
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] != null && (teamIndices[i] == teamIndex) == matching) {
+                result.add(players[i]);
+            }
+        }
+        return result;
+    }
+
+    List<Player> presentPlayers() {
+        List<Player> result = new ArrayList<>(players.length);
+        for (Player player : players) {
+            if (player != null) {
+                result.add(player);
+            }
+        }
+        return result;
+    }
+
+    void eliminate(int index) {
+        active[index] = false;
+        clearCrossings(index);
+    }
+
+    void invalidate(int index) {
+        players[index] = null;
+    }
+
+    void rebind(int index, Player player) {
+        players[index] = player;
+    }
+
+    int guardedEntityId(int index) {
+        return guardedEntityIds[index];
+    }
+
+    void markGuarded(int index, int entityId) {
+        guardedEntityIds[index] = entityId;
+    }
+
+    boolean isBelowTie(int index) {
+        return belowTie[index];
+    }
+
+    boolean isBelowElimination(int index) {
+        return belowElimination[index];
+    }
+
+    int belowTieCount() {
+        return belowTieCount;
+    }
+
+    int belowEliminationCount() {
+        return belowEliminationCount;
+    }
+
+    void markCrossings(int index, boolean tie, boolean elimination) {
+        if (belowTie[index] != tie) {
+            belowTie[index] = tie;
+            belowTieCount += tie ? 1 : -1;
+        }
+        if (belowElimination[index] != elimination) {
+            belowElimination[index] = elimination;
+            belowEliminationCount += elimination ? 1 : -1;
+        }
+    }
+
+    private void clearCrossings(int index) {
+        markCrossings(index, false, false);
+    }
+}
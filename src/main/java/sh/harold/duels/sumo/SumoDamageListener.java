@@ -1,5 +1,6 @@
 package sh.harold.duels.sumo;
 
+import java.util.Objects;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -7,13 +8,18 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 
 public final class SumoDamageListener implements Listener {
+    private final SumoHealthGuards healthGuards;
+
+    public SumoDamageListener(SumoHealthGuards healthGuards) {
+        this.healthGuards = Objects.requireNonNull(healthGuards, "healthGuards");
+    }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onEntityDamage(EntityDamageEvent event) {
         if (!(event.getEntity() instanceof Player player)) {
             return;
         }
-        if (!player.hasMetadata(SumoAttributes.HEALTH_GUARD_METADATA)) {
+        if (!healthGuards.isGuarded(player.getEntityId())) {
             return;
         }
         event.setDamage(0D);
@@ -0,0 +1,12 @@
+package sh.harold.duels.sumo;
+
+enum SumoFallDetection {
+    /**
+     * Every tick walks the active players and samples their current location.
+     */
+    POLLING,
+    /**
+     * Movement events record threshold crossings; the tick only inspects flagged players.
+     */
+    EVENT_DRIVEN
+}
@@ -0,0 +1,63 @@
+package sh.harold.duels.sumo;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.bukkit.entity.Player;
+
+/**
+ * Player-keyed index of live Sumo matches, fed by {@link SumoMovementListener}. Every match registers, whatever its
+ * fall detection, so quits and rejoins always reach its combatant handles. Routing by combatant rather than by
+ * world keeps lookups constant when many instanced arenas share a world, and keeps a player knocked into a
+ * neighbouring cell attached to their own match.
+ */
+public final class SumoFallIndex {
+    private final Map<UUID, SumoMatchContext> matchesByPlayer = new HashMap<>();
+
+    void register(SumoMatchContext matchContext) {
+        SumoCombatantTable combatants = matchContext.combatants();
+        for (int index = 0; index < combatants.size(); index++) {
+            matchesByPlayer.put(combatants.playerId(index), matchContext);
+        }
+    }
+
+    void unregister(SumoMatchContext matchContext) {
+        SumoCombatantTable combatants = matchContext.combatants();
+        for (int index = 0; index < combatants.size(); index++) {
+            matchesByPlayer.remove(combatants.playerId(index), matchContext);
+        }
+    }
+
+    boolean isEmpty() {
+        return matchesByPlayer.isEmpty();
+    }
+
+    void recordPosition(UUID worldId, UUID playerId, double x, double y, double z) {
+        SumoMatchContext matchContext = lookup(worldId, playerId);
+        if (matchContext != null) {
+            matchContext.trackPosition(playerId, x, y, z);
+        }
+    }
+
+    void invalidatePlayer(UUID playerId) {
+        SumoMatchContext matchContext = matchesByPlayer.get(playerId);
+        if (matchContext != null) {
+            matchContext.invalidatePlayer(playerId);
+        }
+    }
+
+    /**
+     * Rebinds a rejoining combatant wherever they spawn; they are often placed in a lobby world first.
+     */
+    void rebindPlayer(Player player) {
+        SumoMatchContext matchContext = matchesByPlayer.get(player.getUniqueId());
+        if (matchContext != null) {
+            matchContext.rebindPlayer(player);
+        }
+    }
+
+    private SumoMatchContext lookup(UUID worldId, UUID playerId) {
+        SumoMatchContext matchContext = matchesByPlayer.get(playerId);
+        return matchContext != null && matchContext.worldId().equals(worldId) ? matchContext : null;
+    }
+}
@@ -0,0 +1,122 @@
+package sh.harold.duels.sumo;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of the entity ids of players whose damage is zeroed while a Sumo round runs. Lookups,
+ * guards and releases are constant time, and memory follows the number of guarded players rather than the largest
+ * entity id the server has handed out.
+ */
+public final class SumoHealthGuards {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] slots = emptySlots(INITIAL_CAPACITY);
+    private int size;
+
+    boolean isGuarded(int entityId) {
+        if (size == 0 || entityId == EMPTY) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        for (int slot = home(entityId, mask); ; slot = (slot + 1) & mask) {
+            int occupant = slots[slot];
+            if (occupant == entityId) {
+                return true;
+            }
+            if (occupant == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    void guard(int entityId) {
+        if (entityId == EMPTY) {
+            return;
+        }
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        if (insert(slots, entityId)) {
+            size++;
+        }
+    }
+
+    void release(int entityId) {
+        if (size == 0 || entityId == EMPTY) {
+            return;
+        }
+        int mask = slots.length - 1;
+        int slot = home(entityId, mask);
+        while (slots[slot] != entityId) {
+            if (slots[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Shift later members of the probe run back so lookups never stop at the freed slot.
+        int hole = slot;
+        for (int next = (hole + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+            int wanted = home(slots[next], mask);
+            if (((next - wanted) & mask) >= ((next - hole) & mask)) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+        }
+        slots[hole] = EMPTY;
+        size--;
+        if (size == 0 && slots.length > INITIAL_CAPACITY) {
+            // A burst of large matches should not pin its peak capacity for the rest of the uptime.
+            slots = emptySlots(INITIAL_CAPACITY);
+        }
+    }
+
+    /**
+     * Releases every guard a match handed out; touches only that match's combatants.
+     */
+    void releaseAll(SumoCombatantTable combatants) {
+        for (int index = 0; index < combatants.size(); index++) {
+            int entityId = combatants.guardedEntityId(index);
+            if (entityId != SumoCombatantTable.NO_ENTITY) {
+                release(entityId);
+                combatants.markGuarded(index, SumoCombatantTable.NO_ENTITY);
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] grown = emptySlots(capacity);
+        for (int occupant : slots) {
+            if (occupant != EMPTY) {
+                insert(grown, occupant);
+            }
+        }
+        slots = grown;
+    }
+
+    private static boolean insert(int[] table, int entityId) {
+        int mask = table.length - 1;
+        for (int slot = home(entityId, mask); ; slot = (slot + 1) & mask) {
+            int occupant = table[slot];
+            if (occupant == entityId) {
+                return false;
+            }
+            if (occupant == EMPTY) {
+                table[slot] = entityId;
+                return true;
+            }
+        }
+    }
+
+    private static int home(int entityId, int mask) {
+        // Entity ids are handed out sequentially; the multiply spreads neighbours across the table.
+        int hash = entityId * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int[] emptySlots(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
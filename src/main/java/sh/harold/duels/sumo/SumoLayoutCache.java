@@ -0,0 +1,88 @@
+package sh.harold.duels.sumo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.Location;
+import com.google.gson.JsonObject;
+
+/**
+ * Parsed spawn templates keyed by map identity, so matches on the same map skip the POI scan.
+ *
+ * <p>Each template remembers a fingerprint of the POIs it was parsed from and is re-parsed when the map's POIs no
+ * longer match it. The least recently used templates are dropped past {@link #MAX_TEMPLATES}.
+ */
+public final class SumoLayoutCache {
+    static final int MAX_TEMPLATES = 256;
+
+    private final Map<String, Entry> layouts = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_TEMPLATES;
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypasses = new AtomicLong();
+
+    /**
+     * Template for {@code arena}'s POIs; a {@code null} key means the map has no shared identity and is parsed
+     * without caching.
+     */
+    SumoSpawnLayout get(String mapKey, SumoArena arena, Map<Location, JsonObject> worldPois) {
+        if (mapKey == null) {
+            bypasses.incrementAndGet();
+            return SumoSpawnLayout.from(arena.localize(worldPois));
+        }
+        long fingerprint = arena.fingerprint(worldPois);
+        synchronized (layouts) {
+            Entry entry = layouts.get(mapKey);
+            if (entry != null && entry.fingerprint() == fingerprint) {
+                hits.incrementAndGet();
+                return entry.layout();
+            }
+        }
+        misses.incrementAndGet();
+        SumoSpawnLayout layout = SumoSpawnLayout.from(arena.localize(worldPois));
+        synchronized (layouts) {
+            layouts.put(mapKey, new Entry(layout, fingerprint));
+        }
+        return layout;
+    }
+
+    /**
+     * Drops one map's template, e.g. after it failed to fit a match.
+     */
+    public void invalidate(String mapKey) {
+        synchronized (layouts) {
+            layouts.remove(mapKey);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (layouts) {
+            layouts.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (layouts) {
+            return layouts.size();
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long bypasses() {
+        return bypasses.get();
+    }
+
+    private record Entry(SumoSpawnLayout layout, long fingerprint) {
+    }
+}
@@ -2,41 +2,81 @@ package sh.harold.duels.sumo;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.UUID;
 import org.bukkit.Location;
+import org.bukkit.entity.Player;
 
 final class SumoMatchContext {
     private final SumoVariant variant;
+    private final SumoArena arena;
     private final double originY;
+    private final double eliminationY;
+    private final double tieY;
     private final Map<String, Location> teamSpawns;
+    private final SumoCombatantTable combatants;
+    private final SumoHealthGuards healthGuards;
+    private final SumoMatchRecorder recorder;
+    private final boolean[] landed;
+    private Location[] startTargets = new Location[0];
     private boolean tieLatched;
     private boolean resultDeclared;
+    private boolean playersLanded;
+    private boolean ended;
+    private int startWaitTicks;
 
-    SumoMatchContext(SumoVariant variant, double originY, Map<String, Location> teamSpawns) {
+    SumoMatchContext(SumoVariant variant, SumoArena arena, double originY, Map<String, Location> teamSpawns,
+                     SumoCombatantTable combatants, SumoHealthGuards healthGuards, SumoMatchRecorder recorder) {
         this.variant = variant;
+        this.arena = arena;
         this.originY = originY;
+        this.eliminationY = originY - variant.lossThreshold();
+        this.tieY = originY - variant.tieThreshold();
         this.teamSpawns = Collections.unmodifiableMap(teamSpawns);
+        this.combatants = combatants;
+        this.healthGuards = healthGuards;
+        this.recorder = recorder;
+        this.landed = new boolean[combatants.size()];
     }
 
     public SumoVariant variant() {
         return variant;
     }
 
+    public UUID worldId() {
+        return arena.worldId();
+    }
+
+    SumoArena arena() {
+        return arena;
+    }
+
     public double originY() {
         return originY;
     }
 
     public double eliminationY() {
-        return originY - SumoRules.LOSS_THRESHOLD;
+        return eliminationY;
     }
 
     public double tieY() {
-        return originY - SumoRules.TIE_THRESHOLD;
+        return tieY;
     }
 
     public Map<String, Location> teamSpawns() {
         return teamSpawns;
     }
 
+    SumoCombatantTable combatants() {
+        return combatants;
+    }
+
+    /**
+     * Flight recorder for this match, or {@code null} when recording is off.
+     */
+    SumoMatchRecorder recorder() {
+        return recorder;
+    }
+
     public boolean tieLatched() {
         return tieLatched;
     }
@@ -52,4 +92,87 @@ final class SumoMatchContext {
     public void markResultDeclared() {
         this.resultDeclared = true;
     }
+
+    public boolean playersLanded() {
+        return playersLanded;
+    }
+
+    public void markPlayersLanded() {
+        this.playersLanded = true;
+    }
+
+    /**
+     * Spawn slots by combatant index, used to place anyone the start teleports missed.
+     */
+    void assignStartTargets(Location[] targets) {
+        this.startTargets = targets.clone();
+    }
+
+    Location startTarget(int index) {
+        return index < startTargets.length ? startTargets[index] : null;
+    }
+
+    void markLanded(int index) {
+        landed[index] = true;
+    }
+
+    boolean hasLanded(int index) {
+        return landed[index];
+    }
+
+    /**
+     * Whether start teleports may still move combatants: the gate has not opened and the match is still running.
+     */
+    boolean acceptsStartTeleports() {
+        return !playersLanded && !resultDeclared && !ended;
+    }
+
+    boolean ended() {
+        return ended;
+    }
+
+    void markEnded() {
+        this.ended = true;
+    }
+
+    int incrementStartWaitTicks() {
+        return ++startWaitTicks;
+    }
+
+    /**
+     * Records the latest position of a combatant; leaving the arena's bounds counts as falling past both lines, and
+     * anything above the tie line inside the arena only clears previous crossings.
+     */
+    void trackPosition(UUID playerId, double x, double y, double z) {
+        boolean inside = arena.contains(x, z);
+        if (inside && y >= tieY && combatants.belowTieCount() == 0) {
+            return;
+        }
+        int index = combatants.indexOf(playerId);
+        if (index < 0 || !combatants.isActive(index)) {
+            return;
+        }
+        combatants.markCrossings(index, !inside || y < tieY, !inside || y < eliminationY);
+    }
+
+    void invalidatePlayer(UUID playerId) {
+        int index = combatants.indexOf(playerId);
+        if (index >= 0) {
+            combatants.invalidate(index);
+        }
+    }
+
+    void rebindPlayer(Player player) {
+        int index = combatants.indexOf(player.getUniqueId());
+        if (index < 0) {
+            return;
+        }
+        combatants.rebind(index, player);
+        int guardedEntityId = combatants.guardedEntityId(index);
+        if (guardedEntityId != SumoCombatantTable.NO_ENTITY && guardedEntityId != player.getEntityId()) {
+            healthGuards.release(guardedEntityId);
+            healthGuards.guard(player.getEntityId());
+            combatants.markGuarded(index, player.getEntityId());
+        }
+    }
 }
@@ -0,0 +1,225 @@
+package sh.harold.duels.sumo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import sh.harold.duels.DuelsFiles;
+
+/**
+ * Per-match flight recorder: one row per tick with every combatant's position, velocity and look, kept in a
+ * preallocated off-heap ring so capturing never allocates. Velocity is the per-tick position delta, which is what
+ * actually moved the player, rather than the server's requested velocity.
+ *
+ * <p>Files are gzip-compressed, big-endian: magic {@code DSR1}, version, match id, variant id (UTF), origin
+ * (3 doubles), combatant count, then per combatant its UUID and team index, then the row count followed by the
+ * rows in capture order. Rows are little-endian: the tick number (int) and, per combatant, x/y/z relative to the
+ * origin, vx/vy/vz, yaw and pitch (floats) and a flags int ({@link #FLAG_ACTIVE}, {@link #FLAG_PRESENT}).
+ *
+ * <p>Rings come from {@link SumoRecordingBuffers} and go back once written. After each write the recordings
+ * directory is trimmed to the configured file count and age.
+ */
+final class SumoMatchRecorder {
+    static final int MAGIC = 0x44535231;
+    static final short VERSION = 1;
+    static final int FLAG_ACTIVE = 1;
+    static final int FLAG_PRESENT = 1 << 1;
+    static final String FILE_SUFFIX = ".dsr.gz";
+
+    private static final int TICK_BYTES = Integer.BYTES;
+    private static final int FRAME_BYTES = 8 * Float.BYTES + Integer.BYTES;
+
+    private final SumoCombatantTable combatants;
+    private final double originX;
+    private final double originY;
+    private final double originZ;
+    private final int capacityTicks;
+    private final int rowBytes;
+    private final float[] lastX;
+    private final float[] lastY;
+    private final float[] lastZ;
+    private final boolean[] sampled;
+    private final Location scratch = new Location(null, 0D, 0D, 0D);
+    private ByteBuffer ring;
+    private int capturedTicks;
+
+    SumoMatchRecorder(SumoCombatantTable combatants, Location origin, int capacityTicks) {
+        this.combatants = combatants;
+        this.originX = origin.getX();
+        this.originY = origin.getY();
+        this.originZ = origin.getZ();
+        this.capacityTicks = capacityTicks;
+        this.rowBytes = TICK_BYTES + combatants.size() * FRAME_BYTES;
+        this.lastX = new float[combatants.size()];
+        this.lastY = new float[combatants.size()];
+        this.lastZ = new float[combatants.size()];
+        this.sampled = new boolean[combatants.size()];
+        this.ring = SumoRecordingBuffers.acquire(capacityTicks * rowBytes);
+    }
+
+    /**
+     * Appends one row for the current tick, overwriting the oldest once the ring is full.
+     */
+    void capture() {
+        if (ring == null) {
+            return;
+        }
+        int offset = (capturedTicks % capacityTicks) * rowBytes;
+        ring.putInt(offset, capturedTicks);
+        offset += TICK_BYTES;
+        for (int index = 0; index < combatants.size(); index++) {
+            Player player = combatants.player(index);
+            int flags = combatants.isActive(index) ? FLAG_ACTIVE : 0;
+            float x = lastX[index];
+            float y = lastY[index];
+            float z = lastZ[index];
+            float yaw = 0F;
+            float pitch = 0F;
+            if (player != null) {
+                flags |= FLAG_PRESENT;
+                player.getLocation(scratch);
+                x = (float) (scratch.getX() - originX);
+                y = (float) (scratch.getY() - originY);
+                z = (float) (scratch.getZ() - originZ);
+                yaw = scratch.getYaw();
+                pitch = scratch.getPitch();
+            }
+            boolean moving = sampled[index] && player != null;
+            ring.putFloat(offset, x);
+            ring.putFloat(offset + 4, y);
+            ring.putFloat(offset + 8, z);
+            ring.putFloat(offset + 12, moving ? x - lastX[index] : 0F);
+            ring.putFloat(offset + 16, moving ? y - lastY[index] : 0F);
+            ring.putFloat(offset + 20, moving ? z - lastZ[index] : 0F);
+            ring.putFloat(offset + 24, yaw);
+            ring.putFloat(offset + 28, pitch);
+            ring.putInt(offset + 32, flags);
+            offset += FRAME_BYTES;
+            lastX[index] = x;
+            lastY[index] = y;
+            lastZ[index] = z;
+            sampled[index] |= player != null;
+        }
+        capturedTicks++;
+    }
+
+    /**
+     * Hands the ring to an async task that writes {@code <dataFolder>/recordings/<matchId>.dsr.gz} and then applies
+     * the retention limits of {@code settings}; the recorder captures nothing afterwards.
+     */
+    void flushAsync(JavaPlugin plugin, UUID matchId, String variantId, SumoRecordingSettings settings) {
+        ByteBuffer detached = ring;
+        ring = null;
+        if (detached == null) {
+            return;
+        }
+        if (capturedTicks == 0) {
+            SumoRecordingBuffers.release(detached);
+            return;
+        }
+        int rows = Math.min(capturedTicks, capacityTicks);
+        int firstRow = capturedTicks > capacityTicks ? capturedTicks % capacityTicks : 0;
+        UUID[] playerIds = new UUID[combatants.size()];
+        int[] teamIndices = new int[combatants.size()];
+        for (int index = 0; index < playerIds.length; index++) {
+            playerIds[index] = combatants.playerId(index);
+            teamIndices[index] = combatants.teamIndex(index);
+        }
+        Path directory = plugin.getDataFolder().toPath().resolve("recordings");
+        Path target = directory.resolve(matchId + FILE_SUFFIX);
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                write(target, detached, rows, firstRow, matchId, variantId, playerIds, teamIndices);
+            } catch (IOException ex) {
+                plugin.getLogger().log(Level.WARNING, "Unable to write Sumo recording " + target, ex);
+            } finally {
+                SumoRecordingBuffers.release(detached);
+            }
+            try {
+                prune(directory, settings);
+            } catch (IOException ex) {
+                plugin.getLogger().log(Level.WARNING, "Unable to prune Sumo recordings in " + directory, ex);
+            }
+        });
+    }
+
+    /**
+     * Deletes recordings beyond the newest {@code maxFiles} and any older than {@code maxAge}.
+     */
+    static void prune(Path directory, SumoRecordingSettings settings) throws IOException {
+        List<Path> recordings;
+        try (Stream<Path> files = Files.list(directory)) {
+            recordings = files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .collect(Collectors.toList());
+        }
+        Map<Path, Long> modified = new HashMap<>();
+        for (Path recording : recordings) {
+            modified.put(recording, lastModifiedMillis(recording));
+        }
+        recordings.sort(Comparator.comparingLong((Path file) -> modified.get(file)).reversed());
+        long cutoff = System.currentTimeMillis() - settings.maxAge().toMillis();
+        for (int index = 0; index < recordings.size(); index++) {
+            Path recording = recordings.get(index);
+            if (index >= settings.maxFiles() || modified.get(recording) < cutoff) {
+                Files.deleteIfExists(recording);
+            }
+        }
+    }
+
+    private static long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException ex) {
+            // Deleted by a concurrent prune; sorts last and is skipped by deleteIfExists.
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private void write(Path target, ByteBuffer rowsBuffer, int rows, int firstRow, UUID matchId, String variantId,
+                       UUID[] playerIds, int[] teamIndices) throws IOException {
+        DuelsFiles.writeAtomically(target, temp -> writeRows(temp, rowsBuffer, rows, firstRow, matchId, variantId,
+                playerIds, teamIndices));
+    }
+
+    private void writeRows(Path temp, ByteBuffer rowsBuffer, int rows, int firstRow, UUID matchId, String variantId,
+                           UUID[] playerIds, int[] teamIndices) throws IOException {
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(matchId.getMostSignificantBits());
+            out.writeLong(matchId.getLeastSignificantBits());
+            out.writeUTF(variantId);
+            out.writeDouble(originX);
+            out.writeDouble(originY);
+            out.writeDouble(originZ);
+            out.writeShort(playerIds.length);
+            for (int index = 0; index < playerIds.length; index++) {
+                out.writeLong(playerIds[index].getMostSignificantBits());
+                out.writeLong(playerIds[index].getLeastSignificantBits());
+                out.writeByte(teamIndices[index]);
+            }
+            out.writeInt(rows);
+            byte[] row = new byte[rowBytes];
+            for (int written = 0; written < rows; written++) {
+                rowsBuffer.get(((firstRow + written) % capacityTicks) * rowBytes, row);
+                out.write(row);
+            }
+        }
+    }
+}
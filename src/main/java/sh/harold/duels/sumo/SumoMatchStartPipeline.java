@@ -0,0 +1,136 @@
+package sh.harold.duels.sumo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Loads the spawn chunks asynchronously, then moves every combatant with Paper's async teleport.
+ */
+final class SumoMatchStartPipeline {
+    private static final int PREWARM_RADIUS_CHUNKS = 1;
+
+    private final JavaPlugin plugin;
+
+    SumoMatchStartPipeline(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Completes on the main thread once every teleport settled; {@code onLanded} runs for each combatant that was
+     * actually moved. Once {@code accepting} turns false no further teleport is issued and late landings are
+     * ignored; a teleport Paper already started still finishes.
+     */
+    CompletableFuture<Timings> start(World world, SumoCombatantTable combatants, Location[] targets,
+                                     BooleanSupplier accepting, IntConsumer onLanded) {
+        long startedNanos = System.nanoTime();
+        List<CompletableFuture<Chunk>> chunkLoads = prewarmChunks(world, targets);
+        CompletableFuture<Timings> landed = new CompletableFuture<>();
+
+        CompletableFuture.allOf(chunkLoads.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, chunkFailure) -> runOnMain(() -> {
+                    long chunksNanos = System.nanoTime() - startedNanos;
+                    if (!accepting.getAsBoolean()) {
+                        landed.complete(new Timings(chunkLoads.size(), chunksNanos, 0, 0L));
+                        return;
+                    }
+                    List<Chunk> tickets = new ArrayList<>(chunkLoads.size());
+                    for (CompletableFuture<Chunk> load : chunkLoads) {
+                        // A failed prewarm only costs that chunk its ticket; the teleport still loads it.
+                        Chunk chunk = load.isCompletedExceptionally() ? null : load.getNow(null);
+                        if (chunk != null && chunk.addPluginChunkTicket(plugin)) {
+                            tickets.add(chunk);
+                        }
+                    }
+                    long teleportStartedNanos = System.nanoTime();
+                    List<CompletableFuture<Boolean>> teleports = new ArrayList<>(combatants.size());
+                    for (int index = 0; index < combatants.size(); index++) {
+                        Player player = combatants.player(index);
+                        if (player == null || targets[index] == null) {
+                            continue;
+                        }
+                        int combatant = index;
+                        teleports.add(player.teleportAsync(targets[index], TeleportCause.PLUGIN)
+                                .whenComplete((moved, failure) -> runOnMain(() -> {
+                                    if (Boolean.TRUE.equals(moved) && accepting.getAsBoolean()) {
+                                        onLanded.accept(combatant);
+                                    }
+                                })));
+                    }
+                    CompletableFuture.allOf(teleports.toArray(CompletableFuture[]::new))
+                            .whenComplete((done, teleportFailure) -> runOnMain(() -> {
+                                tickets.forEach(chunk -> chunk.removePluginChunkTicket(plugin));
+                                landed.complete(new Timings(chunkLoads.size(), chunksNanos, teleports.size(),
+                                        System.nanoTime() - teleportStartedNanos));
+                            }));
+                }));
+        return landed;
+    }
+
+    private List<CompletableFuture<Chunk>> prewarmChunks(World world, Location[] targets) {
+        long[] chunkKeys = chunkKeys(targets);
+        List<CompletableFuture<Chunk>> loads = new ArrayList<>(chunkKeys.length);
+        for (long chunkKey : chunkKeys) {
+            loads.add(world.getChunkAtAsync(chunkX(chunkKey), chunkZ(chunkKey)));
+        }
+        return loads;
+    }
+
+    /**
+     * Distinct chunks within {@link #PREWARM_RADIUS_CHUNKS} of any target, packed as x in the high and z in the
+     * low 32 bits.
+     */
+    static long[] chunkKeys(Location[] targets) {
+        Set<Long> seen = new LinkedHashSet<>();
+        for (Location target : targets) {
+            if (target == null) {
+                continue;
+            }
+            int centerX = target.getBlockX() >> 4;
+            int centerZ = target.getBlockZ() >> 4;
+            for (int dx = -PREWARM_RADIUS_CHUNKS; dx <= PREWARM_RADIUS_CHUNKS; dx++) {
+                for (int dz = -PREWARM_RADIUS_CHUNKS; dz <= PREWARM_RADIUS_CHUNKS; dz++) {
+                    seen.add(((long) (centerX + dx) << 32) | ((centerZ + dz) & 0xFFFFFFFFL));
+                }
+            }
+        }
+        return seen.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    static int chunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    static int chunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    private void runOnMain(Runnable task) {
+        if (plugin.getServer().isPrimaryThread()) {
+            task.run();
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    record Timings(int chunks, long chunksNanos, int players, long teleportNanos) {
+        long slowestPhaseNanos() {
+            return Math.max(chunksNanos, teleportNanos);
+        }
+
+        String describe() {
+            return String.format("chunks %d in %.1fms, teleports %d in %.1fms",
+                    chunks, chunksNanos / 1_000_000D, players, teleportNanos / 1_000_000D);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package sh.harold.duels.sumo;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.java.JavaPlugin;
+import sh.harold.duels.DuelsMatchSettings;
+import sh.harold.duels.scoreboard.DuelsTimeLeftLines;
 import sh.harold.fulcrum.api.slot.SlotFamilyDescriptor;
 import sh.harold.fulcrum.minigame.MinigameAttributes;
 import sh.harold.fulcrum.minigame.MinigameBlueprint;
@@ -12,45 +18,108 @@ import sh.harold.fulcrum.minigame.MinigameRegistration;
 public final class SumoMinigame {
     public static final String FAMILY_ID = "sumo";
     private static final String DEFAULT_MAP_POOL = "sumo";
-    private static final String DEFAULT_VARIANT = SumoVariant.SOLO.id();
-    private static final String ADVERTISED_VARIANTS = Arrays.stream(SumoVariant.values())
-            .map(SumoVariant::id)
-            .collect(Collectors.joining(","));
-    private static final int MIN_PLAYERS = 2;
-    private static final int MAX_PLAYERS = 2;
     private static final int PLAYER_EQUIVALENT = 10;
-    private static final String TEAM_COUNT = "2";
-    private static final String TEAM_MAX = "1";
     private static final String PRE_LOBBY_SCHEMATIC = "duels_prelobby";
 
     private SumoMinigame() {
     }
 
-    public static SlotFamilyDescriptor createDescriptor() {
-        return SlotFamilyDescriptor.builder(FAMILY_ID, MIN_PLAYERS, MAX_PLAYERS)
+    /**
+     * Installs the variants configured under {@code section}; call before the family descriptors are built.
+     * Returns one message per skipped entry.
+     */
+    public static List<String> loadVariants(ConfigurationSection section) {
+        return SumoVariant.load(section);
+    }
+
+    /**
+     * One slot family per variant, in {@link SumoVariant#all()} order. The default variant keeps the
+     * {@value #FAMILY_ID} family id so slots provisioned before variants existed still route to it.
+     */
+    public static List<SlotFamilyDescriptor> createDescriptors() {
+        List<SlotFamilyDescriptor> descriptors = new ArrayList<>();
+        for (SumoVariant variant : SumoVariant.all()) {
+            descriptors.add(createDescriptor(variant));
+        }
+        return descriptors;
+    }
+
+    /**
+     * Registers one minigame per family returned by {@link #createDescriptors()}, which must be passed in the same
+     * order.
+     */
+    public static List<MinigameRegistration> createRegistrations(JavaPlugin plugin,
+                                                                 List<SlotFamilyDescriptor> descriptors,
+                                                                 SumoFallIndex fallIndex,
+                                                                 SumoHealthGuards healthGuards,
+                                                                 SumoLayoutCache layoutCache,
+                                                                 SumoArenaPool arenaPool) {
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(descriptors, "descriptors");
+        Objects.requireNonNull(fallIndex, "fallIndex");
+        Objects.requireNonNull(healthGuards, "healthGuards");
+        Objects.requireNonNull(layoutCache, "layoutCache");
+        Objects.requireNonNull(arenaPool, "arenaPool");
+        List<SumoVariant> variants = SumoVariant.all();
+        if (descriptors.size() != variants.size()) {
+            throw new IllegalStateException("Expected " + variants.size() + " Sumo slot families but got "
+                    + descriptors.size());
+        }
+        DuelsTimeLeftLines.ensureCapacity(longestMatchDuration());
+        SumoRecordingSettings recordingSettings = SumoRecordingSettings.load(
+                plugin.getConfig().getConfigurationSection("sumo.recording"));
+
+        List<MinigameRegistration> registrations = new ArrayList<>(variants.size());
+        for (int index = 0; index < variants.size(); index++) {
+            SumoVariant variant = variants.get(index);
+            MinigameBlueprint blueprint = MinigameBlueprint.standard()
+                    .preLobby(builder -> builder.countdownSeconds(10).minimumPlayers(variant.minimumPlayers()))
+                    .inGame(new SumoRoundHandler(plugin, fallIndex, SumoRules.FALL_DETECTION, healthGuards,
+                            layoutCache, arenaPool, recordingSettings))
+                    .onInGameComplete(context -> context.getAttributeOptional(
+                                    MinigameAttributes.MATCH_COMPLETE, Boolean.class)
+                            .orElse(false))
+                    .build();
+            registrations.add(new MinigameRegistration(familyId(variant), descriptors.get(index), blueprint));
+        }
+        return registrations;
+    }
+
+    private static SlotFamilyDescriptor createDescriptor(SumoVariant variant) {
+        String teamCount = Integer.toString(variant.teamCount());
+        String teamMax = Integer.toString(variant.playersPerTeam());
+        // Every slot is provisioned from this metadata, so reject a broken family before any slot is offered.
+        List<String> errors = SumoVariant.validate(DuelsMatchSettings.parse(Map.of(
+                DuelsMatchSettings.TEAM_COUNT_KEY, teamCount,
+                DuelsMatchSettings.TEAM_MAX_KEY, teamMax,
+                DuelsMatchSettings.VARIANT_KEY, variant.id()), familyId(variant)));
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid Sumo slot metadata for " + variant.id() + ": "
+                    + String.join("; ", errors));
+        }
+
+        return SlotFamilyDescriptor.builder(familyId(variant), variant.minimumPlayers(), variant.maximumPlayers())
                 .playerEquivalentFactor(PLAYER_EQUIVALENT)
-                .putMetadata("mapPool", DEFAULT_MAP_POOL)
-                .putMetadata("team.count", TEAM_COUNT)
-                .putMetadata("team.max", TEAM_MAX)
-                .putMetadata("variant", DEFAULT_VARIANT)
-                .putMetadata("defaultVariant", DEFAULT_VARIANT)
-                .putMetadata("variants", ADVERTISED_VARIANTS)
+                .putMetadata(DuelsMatchSettings.MAP_POOL_KEY, DEFAULT_MAP_POOL)
+                .putMetadata(DuelsMatchSettings.TEAM_COUNT_KEY, teamCount)
+                .putMetadata(DuelsMatchSettings.TEAM_MAX_KEY, teamMax)
+                .putMetadata(DuelsMatchSettings.VARIANT_KEY, variant.id())
+                .putMetadata("defaultVariant", SumoVariant.defaultVariant().id())
+                .putMetadata("variants", SumoVariant.all().stream()
+                        .map(SumoVariant::id)
+                        .collect(Collectors.joining(",")))
                 .putMetadata("preLobbySchematic", PRE_LOBBY_SCHEMATIC)
                 .build();
     }
 
-    public static MinigameRegistration createRegistration(JavaPlugin plugin, SlotFamilyDescriptor descriptor) {
-        Objects.requireNonNull(plugin, "plugin");
-        Objects.requireNonNull(descriptor, "descriptor");
-
-        MinigameBlueprint blueprint = MinigameBlueprint.standard()
-                .preLobby(builder -> builder.countdownSeconds(10).minimumPlayers(MIN_PLAYERS))
-                .inGame(new SumoRoundHandler(plugin))
-                .onInGameComplete(context -> context.getAttributeOptional(
-                                MinigameAttributes.MATCH_COMPLETE, Boolean.class)
-                        .orElse(false))
-                .build();
+    private static String familyId(SumoVariant variant) {
+        return variant == SumoVariant.defaultVariant() ? FAMILY_ID : FAMILY_ID + "-" + variant.id();
+    }
 
-        return new MinigameRegistration(FAMILY_ID, descriptor, blueprint);
+    private static Duration longestMatchDuration() {
+        return SumoVariant.all().stream()
+                .map(SumoVariant::matchDuration)
+                .max(Duration::compareTo)
+                .orElse(SumoRules.MATCH_DURATION);
     }
 }
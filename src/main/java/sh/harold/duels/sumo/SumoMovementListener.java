@@ -0,0 +1,66 @@
+package sh.harold.duels.sumo;
+
+import java.util.Objects;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+public final class SumoMovementListener implements Listener {
+    private final SumoFallIndex fallIndex;
+
+    public SumoMovementListener(SumoFallIndex fallIndex) {
+        this.fallIndex = Objects.requireNonNull(fallIndex, "fallIndex");
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        if (fallIndex.isEmpty()) {
+            return;
+        }
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getX() == to.getX() && from.getY() == to.getY() && from.getZ() == to.getZ()) {
+            return;
+        }
+        record(event, to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (fallIndex.isEmpty()) {
+            return;
+        }
+        record(event, event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        if (fallIndex.isEmpty()) {
+            return;
+        }
+        fallIndex.invalidatePlayer(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        if (fallIndex.isEmpty()) {
+            return;
+        }
+        fallIndex.rebindPlayer(event.getPlayer());
+    }
+
+    private void record(PlayerMoveEvent event, Location to) {
+        World world = to.getWorld();
+        if (world == null) {
+            return;
+        }
+        fallIndex.recordPosition(world.getUID(), event.getPlayer().getUniqueId(), to.getX(), to.getY(),
+                to.getZ());
+    }
+}
@@ -0,0 +1,51 @@
+package sh.harold.duels.sumo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reuses the off-heap rings of finished recordings. Ring sizes follow from the variant's player count and duration,
+ * so a handful of exact sizes cover every match and a released ring is handed to the next match of its kind
+ * instead of waiting for the garbage collector to free it.
+ */
+final class SumoRecordingBuffers {
+    static final long MAX_POOLED_BYTES = 64L * 1024L * 1024L;
+
+    private static final Map<Integer, Queue<ByteBuffer>> POOLED = new ConcurrentHashMap<>();
+    private static final AtomicLong POOLED_BYTES = new AtomicLong();
+
+    private SumoRecordingBuffers() {
+    }
+
+    /**
+     * A little-endian direct buffer of exactly {@code bytes}; its previous contents are undefined.
+     *
+     * @throws OutOfMemoryError when no pooled ring fits and direct memory is exhausted
+     */
+    static ByteBuffer acquire(int bytes) {
+        Queue<ByteBuffer> pooled = POOLED.get(bytes);
+        ByteBuffer buffer = pooled != null ? pooled.poll() : null;
+        if (buffer != null) {
+            POOLED_BYTES.addAndGet(-bytes);
+            return buffer.clear();
+        }
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns a ring for reuse; rings beyond {@link #MAX_POOLED_BYTES} are left to the collector.
+     */
+    static void release(ByteBuffer buffer) {
+        int bytes = buffer.capacity();
+        if (POOLED_BYTES.addAndGet(bytes) > MAX_POOLED_BYTES) {
+            POOLED_BYTES.addAndGet(-bytes);
+            return;
+        }
+        POOLED.computeIfAbsent(bytes, ignored -> new ConcurrentLinkedQueue<>()).offer(buffer);
+    }
+}
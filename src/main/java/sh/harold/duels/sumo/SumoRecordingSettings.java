@@ -0,0 +1,23 @@
+package sh.harold.duels.sumo;
+
+import java.time.Duration;
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * The {@code sumo.recording} block of {@code config.yml}: whether matches are recorded and how many recordings
+ * are kept on disk.
+ */
+record SumoRecordingSettings(boolean enabled, int maxFiles, Duration maxAge) {
+    static final SumoRecordingSettings DISABLED = new SumoRecordingSettings(false, 0, Duration.ZERO);
+
+    private static final int DEFAULT_MAX_FILES = 500;
+    private static final long DEFAULT_MAX_AGE_DAYS = 7L;
+
+    static SumoRecordingSettings load(ConfigurationSection section) {
+        if (section == null || !section.getBoolean("enabled", false)) {
+            return DISABLED;
+        }
+        return new SumoRecordingSettings(true, Math.max(1, section.getInt("max-files", DEFAULT_MAX_FILES)),
+                Duration.ofDays(Math.max(1L, section.getLong("max-age-days", DEFAULT_MAX_AGE_DAYS))));
+    }
+}
@@ -1,40 +1,46 @@
 package sh.harold.duels.sumo;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.ChatColor;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.util.Vector;
+import sh.harold.duels.DuelsMatchSettings;
+import sh.harold.duels.DuelsServices;
+import sh.harold.duels.MatchDisplayNames;
 import sh.harold.duels.MatchOutcomeTitles;
+import sh.harold.duels.metrics.DuelsMetrics;
+import sh.harold.duels.metrics.DuelsTickPhase;
+import sh.harold.duels.metrics.DuelsTickProfiler;
+import sh.harold.duels.rating.RatingEngine;
+import sh.harold.duels.results.MatchResult;
+import sh.harold.duels.results.MatchResultWriter;
+import sh.harold.duels.scoreboard.DuelsMatchClock;
 import sh.harold.duels.scoreboard.DuelsScoreboard;
 import sh.harold.duels.scoreboard.DuelsScoreboardLayout;
-import sh.harold.fulcrum.api.world.poi.POIRegistry;
+import sh.harold.duels.stats.PlayerStatsCache;
 import sh.harold.fulcrum.fundamentals.actionflag.ActionFlagContexts;
 import sh.harold.fulcrum.fundamentals.actionflag.ActionFlagService;
 import sh.harold.fulcrum.fundamentals.actionflag.ActionFlag;
 import sh.harold.fulcrum.fundamentals.actionflag.FlagBundle;
-import sh.harold.fulcrum.lifecycle.ServiceLocatorImpl;
 import sh.harold.fulcrum.minigame.MinigameAttributes;
 import sh.harold.fulcrum.minigame.MinigameBlueprint;
 import sh.harold.fulcrum.minigame.defaults.InGameHandler;
@@ -48,16 +54,29 @@ final class SumoRoundHandler implements InGameHandler {
     private static final LegacyComponentSerializer LEGACY_SERIALIZER =
             LegacyComponentSerializer.legacySection();
     private static final String SUMO_ACTIVE_FLAG_CONTEXT = "duels:sumo/active";
-    private static final AtomicBoolean FLAG_CONTEXT_REGISTERED = new AtomicBoolean(false);
+    private static final long SLOW_START_PHASE_NANOS = 2_000_000_000L;
+    private static final AtomicReference<ActionFlagService> FLAG_CONTEXT_OWNER = new AtomicReference<>();
 
     private final JavaPlugin plugin;
-    private final POIRegistry poiRegistry;
-
-    SumoRoundHandler(JavaPlugin plugin) {
+    private final SumoFallIndex fallIndex;
+    private final SumoRoundJudge judge;
+    private final SumoHealthGuards healthGuards;
+    private final SumoLayoutCache layoutCache;
+    private final SumoArenaPool arenaPool;
+    private final SumoRecordingSettings recordingSettings;
+    private final SumoMatchStartPipeline startPipeline;
+
+    SumoRoundHandler(JavaPlugin plugin, SumoFallIndex fallIndex, SumoFallDetection fallDetection,
+                     SumoHealthGuards healthGuards, SumoLayoutCache layoutCache, SumoArenaPool arenaPool,
+                     SumoRecordingSettings recordingSettings) {
         this.plugin = plugin;
-        this.poiRegistry = ServiceLocatorImpl.getInstance()
-                .findService(POIRegistry.class)
-                .orElseThrow(() -> new IllegalStateException("POIRegistry service unavailable"));
+        this.fallIndex = fallIndex;
+        this.judge = new SumoRoundJudge(fallDetection);
+        this.healthGuards = healthGuards;
+        this.layoutCache = layoutCache;
+        this.arenaPool = arenaPool;
+        this.recordingSettings = recordingSettings;
+        this.startPipeline = new SumoMatchStartPipeline(plugin);
     }
 
     @Override
@@ -67,141 +86,295 @@ final class SumoRoundHandler implements InGameHandler {
                         MinigameEnvironmentService.MatchEnvironment.class)
                 .orElseThrow(() -> new IllegalStateException("Missing match environment for Sumo"));
 
-        Map<String, String> slotMetadata = readSlotMetadata(context);
-        SumoVariant variant = SumoVariant.fromMetadata(slotMetadata);
-
-        Map<Location, JsonObject> worldPois = poiRegistry.getWorldPOIs(environment.worldName());
-        SumoSpawnLayout spawnLayout = SumoSpawnLayout.from(worldPois);
+        DuelsMatchSettings settings = DuelsMatchSettings.of(context);
+        List<String> settingsErrors = SumoVariant.validate(settings);
+        if (!settingsErrors.isEmpty()) {
+            plugin.getLogger().warning("Sumo match " + context.getMatchId() + " started with invalid slot settings: "
+                    + String.join("; ", settingsErrors));
+        }
+        SumoVariant variant = SumoVariant.fromSettings(settings);
 
         List<MatchTeam> teams = context.teams().teams().stream()
                 .sorted(Comparator.comparing(MatchTeam::getId))
                 .collect(Collectors.toList());
         if (teams.size() < 2) {
-            throw new IllegalStateException("Sumo requires exactly two teams");
+            throw new IllegalStateException("Sumo requires at least two teams");
+        }
+        if (teams.size() != variant.teamCount()) {
+            plugin.getLogger().warning("Sumo match " + context.getMatchId() + " has " + teams.size()
+                    + " teams but " + variant.id() + " expects " + variant.teamCount());
         }
 
-        Map<String, Location> teamSpawns = assignSpawns(teams, spawnLayout);
-        SumoMatchContext matchContext = new SumoMatchContext(variant, environment.matchSpawn().getY(), teamSpawns);
+        Location matchSpawn = environment.matchSpawn();
+        int cellSize = settings.arenaCellSize().orElse(arenaPool.cellSize());
+        SumoArena arena = cellSize > 0
+                ? SumoArena.cell(matchSpawn, cellSize)
+                : SumoArena.wholeWorld(matchSpawn.getWorld().getUID());
+        String mapKey = layoutKey(settings, arena);
+        Map<String, Location> teamSpawns = resolveTeamSpawns(environment, mapKey, arena, teams);
+        SumoCombatantTable combatants = SumoCombatantTable.build(context, teams);
+        for (int index = 0; index < combatants.size(); index++) {
+            // Normally a cache hit from the join prefetch; covers players who joined before the cache started.
+            PlayerStatsCache.prefetch(combatants.playerId(index));
+        }
+        SumoMatchRecorder recorder = openRecorder(context, combatants, matchSpawn, variant);
+        SumoMatchContext matchContext = new SumoMatchContext(variant, arena, matchSpawn.getY(), teamSpawns,
+                combatants, healthGuards, recorder);
         context.setAttribute(SumoAttributes.MATCH_CONTEXT, matchContext);
+        DuelsMetrics.matchStarted(variant.id());
 
         String actionFlagContext = resolveActiveFlagContext();
         context.applyFlagContext(actionFlagContext);
-        preparePlayers(context, teams, teamSpawns);
+        fallIndex.register(matchContext);
+        Location[] targets = preparePlayers(combatants, teamSpawns);
+        matchContext.assignStartTargets(targets);
+        // A map pool may hold several maps, so warm cells are only grouped by the exact map they were built from.
+        String arenaKey = settings.mapId().map(mapId -> "map:" + mapId).orElse("world:" + environment.worldName());
+        boolean warmArena = arenaPool.acquire(arenaKey, arena, targets);
+        MatchDisplayNames.populate(context);
 
         DuelsScoreboardLayout scoreboardLayout = DuelsScoreboardLayout.builder("Sumo", matchContext.variant().scoreboardLabel())
-                .matchDuration(SumoRules.MATCH_DURATION)
+                .matchDuration(variant.matchDuration())
                 .build();
         DuelsScoreboard.apply(context, scoreboardLayout);
+        DuelsScoreboard.getClock(context).ifPresent(clock -> clock.setHeld(true));
+        startPipeline.start(matchSpawn.getWorld(), combatants, targets, matchContext::acceptsStartTeleports,
+                        index -> {
+                            matchContext.markLanded(index);
+                            settlePlayer(combatants, index);
+                        })
+                .whenComplete((timings, failure) -> {
+                    if (matchContext.ended()) {
+                        return;
+                    }
+                    if (failure != null) {
+                        plugin.getLogger().log(Level.WARNING, "Sumo match " + context.getMatchId()
+                                + " start pipeline failed", failure);
+                    } else {
+                        logStart(context, warmArena, timings);
+                    }
+                    openStartGate(context, matchContext);
+                });
 
         context.broadcast(ChatColor.GOLD + "Sumo " + variant.displayName()
                 + ChatColor.AQUA + " - first team to fall loses!");
     }
 
+    private void logStart(StateContext context, boolean warmArena, SumoMatchStartPipeline.Timings timings) {
+        Level level = timings.slowestPhaseNanos() > SLOW_START_PHASE_NANOS ? Level.WARNING : Level.FINE;
+        if (plugin.getLogger().isLoggable(level)) {
+            plugin.getLogger().log(level, "Sumo match " + context.getMatchId() + " ready ("
+                    + (warmArena ? "warm" : "cold") + " arena): " + timings.describe());
+        }
+    }
+
     @Override
     public void onTick(StateContext context) {
+        long profiled = DuelsTickProfiler.start();
+        long started = System.nanoTime();
+        try {
+            tickRound(context);
+        } finally {
+            DuelsMetrics.roundTicked(System.nanoTime() - started);
+            DuelsTickProfiler.record(DuelsTickPhase.ROUND_TICK, profiled);
+        }
+    }
+
+    private void tickRound(StateContext context) {
         SumoMatchContext matchContext = context.getAttributeOptional(
                         SumoAttributes.MATCH_CONTEXT, SumoMatchContext.class)
                 .orElse(null);
         if (matchContext == null || matchContext.resultDeclared()) {
             return;
         }
+        if (!matchContext.playersLanded()) {
+            if (matchContext.incrementStartWaitTicks() < SumoRules.START_TIMEOUT_TICKS) {
+                return;
+            }
+            plugin.getLogger().warning("Sumo match " + context.getMatchId()
+                    + " did not finish teleporting players in time; starting anyway");
+            openStartGate(context, matchContext);
+        }
+        if (matchContext.recorder() != null) {
+            matchContext.recorder().capture();
+        }
 
-        boolean timedOut = DuelsScoreboard.getClock(context)
-                .map(clock -> !clock.isInfinite() && clock.isExpired())
-                .orElse(false);
-        if (timedOut) {
+        SumoCombatantTable combatants = matchContext.combatants();
+        SumoRoundJudge.Presence presence = presence(context, combatants);
+        long phaseStarted = DuelsTickProfiler.start();
+        DuelsMatchClock clock = DuelsScoreboard.getClock(context).orElse(null);
+        if (clock != null) {
+            clock.setFrozen(context.isStateMachineFrozen());
+        }
+        boolean expired = clock != null && clock.isExpired();
+        DuelsTickProfiler.record(DuelsTickPhase.CLOCK, phaseStarted);
+        if (expired) {
             if (!matchContext.tieLatched()) {
                 matchContext.latchTie();
             }
-            resolveOutcome(context, matchContext);
+            resolveOutcome(context, matchContext, presence);
             return;
         }
 
-        latchTieIfNeeded(context, matchContext);
+        phaseStarted = DuelsTickProfiler.start();
+        judge.latchTieIfNeeded(matchContext, presence);
+        DuelsTickProfiler.record(DuelsTickPhase.TIE_LATCH, phaseStarted);
 
-        List<UUID> fallenPlayers = detectFalls(context, matchContext);
-        if (fallenPlayers.isEmpty()) {
+        phaseStarted = DuelsTickProfiler.start();
+        boolean eliminated = judge.eliminateFallen(matchContext, presence,
+                index -> eliminatePlayer(context, combatants, index));
+        DuelsTickProfiler.record(DuelsTickPhase.FALL_DETECTION, phaseStarted);
+        if (!eliminated) {
             return;
         }
-
-        eliminatePlayers(context, fallenPlayers);
-        resolveOutcome(context, matchContext);
+        resolveOutcome(context, matchContext, presence);
     }
 
     @Override
     public void onMatchEnd(StateContext context) {
-        clearHealthGuards(context);
+        context.getAttributeOptional(SumoAttributes.MATCH_CONTEXT, SumoMatchContext.class)
+                .ifPresent(matchContext -> {
+                    matchContext.markEnded();
+                    fallIndex.unregister(matchContext);
+                    clearHealthGuards(matchContext.combatants());
+                    arenaPool.release(matchContext.arena());
+                    DuelsMetrics.matchClosed(matchContext.variant().id());
+                    if (matchContext.recorder() != null) {
+                        matchContext.recorder().flushAsync(plugin, context.getMatchId(), matchContext.variant().id(),
+                                recordingSettings);
+                    }
+                });
         DuelsScoreboard.teardown(context);
+        MatchDisplayNames.release(context);
         context.removeAttribute(SumoAttributes.MATCH_CONTEXT);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, String> readSlotMetadata(StateContext context) {
-        return context.getAttributeOptional(MinigameAttributes.SLOT_METADATA, Map.class)
-                .map(raw -> {
-                    Map<String, String> metadata = new HashMap<>();
-                    ((Map<?, ?>) raw).forEach((key, value) -> {
-                        if (key != null && value != null) {
-                            metadata.put(String.valueOf(key), String.valueOf(value));
-                        }
-                    });
-                    return metadata;
-                })
-                .orElseGet(Map::of);
+    private SumoMatchRecorder openRecorder(StateContext context, SumoCombatantTable combatants, Location origin,
+                                           SumoVariant variant) {
+        if (!recordingSettings.enabled()) {
+            return null;
+        }
+        try {
+            return new SumoMatchRecorder(combatants, origin,
+                    SumoRules.recordingCapacityTicks(variant.matchDuration()));
+        } catch (OutOfMemoryError ex) {
+            // Direct memory is capped separately from the heap; losing one replay beats failing the match start.
+            plugin.getLogger().warning("Sumo match " + context.getMatchId()
+                    + " is not recorded: no direct memory left for its ring");
+            return null;
+        }
+    }
+
+    /**
+     * Identity of the map a match is played on: the slot's map id, else its map pool, or {@code null} when the slot
+     * names neither. Per-match world names are never used, since no later match would share them.
+     */
+    private static String layoutKey(DuelsMatchSettings settings, SumoArena arena) {
+        // Instanced templates are cell-relative, so they never share a key with a whole-world layout.
+        String prefix = arena.isInstanced() ? "arena:" : "";
+        return settings.mapId()
+                .map(mapId -> prefix + "map:" + mapId)
+                .or(() -> settings.mapPool().map(mapPool -> prefix + "pool:" + mapPool))
+                .orElse(null);
     }
 
-    private Map<String, Location> assignSpawns(List<MatchTeam> teams, SumoSpawnLayout layout) {
+    private Map<String, Location> resolveTeamSpawns(MinigameEnvironmentService.MatchEnvironment environment,
+                                                    String mapKey, SumoArena arena, List<MatchTeam> teams) {
+        World world = environment.matchSpawn().getWorld();
+        Map<Location, JsonObject> worldPois = DuelsServices.poiRegistry().require()
+                .getWorldPOIs(environment.worldName());
+        try {
+            return assignSpawns(world, arena, teams, layoutCache.get(mapKey, arena, worldPois));
+        } catch (IllegalStateException ex) {
+            // A cached template that no longer fits the map is re-parsed once before giving up.
+            if (mapKey == null) {
+                throw ex;
+            }
+            layoutCache.invalidate(mapKey);
+            return assignSpawns(world, arena, teams, layoutCache.get(mapKey, arena, worldPois));
+        }
+    }
+
+    private Map<String, Location> assignSpawns(World world, SumoArena arena, List<MatchTeam> teams,
+                                               SumoSpawnLayout layout) {
         Map<String, Location> assignments = new HashMap<>();
         for (int index = 0; index < teams.size(); index++) {
             MatchTeam team = teams.get(index);
-            Location spawn = layout.resolve(team.getId(), index);
+            Location spawn = layout.resolve(world, team.getId(), index, arena.offsetX(), arena.offsetZ());
             assignments.put(team.getId().toLowerCase(Locale.ROOT), spawn);
         }
         return assignments;
     }
 
-    private void preparePlayers(StateContext context, Collection<MatchTeam> teams,
-                                Map<String, Location> teamSpawns) {
-        for (MatchTeam team : teams) {
-            String teamKey = team.getId().toLowerCase(Locale.ROOT);
-            Location spawn = teamSpawns.get(teamKey);
-            if (spawn == null) {
-                plugin.getLogger().warning("Missing spawn for team " + team.getId());
+    private void openStartGate(StateContext context, SumoMatchContext matchContext) {
+        if (matchContext.playersLanded() || matchContext.resultDeclared()) {
+            return;
+        }
+        matchContext.markPlayersLanded();
+        boolean eliminated = placeStragglers(context, matchContext);
+        DuelsScoreboard.getClock(context).ifPresent(clock -> clock.setHeld(false));
+        if (eliminated) {
+            resolveOutcome(context, matchContext, presence(context, matchContext.combatants()));
+        }
+    }
+
+    /**
+     * Moves every connected combatant the start teleports missed onto their slot with a blocking teleport, and
+     * eliminates those that still cannot be placed. Returns whether anyone was eliminated.
+     */
+    private boolean placeStragglers(StateContext context, SumoMatchContext matchContext) {
+        SumoCombatantTable combatants = matchContext.combatants();
+        int placed = 0;
+        int eliminated = 0;
+        for (int index = 0; index < combatants.size(); index++) {
+            Player player = combatants.player(index);
+            // Disconnected combatants are left to the roster; rejoining players are rebound where they spawn.
+            if (player == null || matchContext.hasLanded(index) || !combatants.isActive(index)) {
                 continue;
             }
-            Location opposingSpawn = findOpposingSpawn(teamKey, teamSpawns);
-            List<Location> slots = distributeAround(spawn, team.members().size());
-            orientSlots(slots, spawn, opposingSpawn);
-            int slotIndex = 0;
-            for (UUID memberId : team.members()) {
-                int index = Math.min(slotIndex, slots.size() - 1);
-                Location target = slots.get(index);
-                context.findPlayer(memberId).ifPresent(player -> preparePlayer(player, target));
-                slotIndex++;
+            Location target = matchContext.startTarget(index);
+            if (target != null && player.teleport(target, TeleportCause.PLUGIN)) {
+                matchContext.markLanded(index);
+                settlePlayer(combatants, index);
+                placed++;
+            } else {
+                eliminatePlayer(context, combatants, index);
+                eliminated++;
             }
         }
+        if (placed > 0 || eliminated > 0) {
+            plugin.getLogger().warning("Sumo match " + context.getMatchId() + " placed " + placed
+                    + " combatant(s) the start teleports missed and eliminated " + eliminated
+                    + " that could not be placed");
+        }
+        return eliminated > 0;
     }
 
-    private List<Location> distributeAround(Location center, int members) {
-        if (members <= 1) {
-            return List.of(center.clone());
+    /**
+     * Resets every combatant and returns their spawn slots by combatant index; teleports happen in the pipeline.
+     */
+    private Location[] preparePlayers(SumoCombatantTable combatants, Map<String, Location> teamSpawns) {
+        int teamCount = combatants.teamCount();
+        Location[] spawns = new Location[teamCount];
+        for (int teamIndex = 0; teamIndex < teamCount; teamIndex++) {
+            MatchTeam team = combatants.team(teamIndex);
+            spawns[teamIndex] = teamSpawns.get(team.getId().toLowerCase(Locale.ROOT));
+            if (spawns[teamIndex] == null) {
+                plugin.getLogger().warning("Missing spawn for team " + team.getId());
+            }
         }
-        List<Location> positions = new ArrayList<>(members);
-        double radius = 0.75;
-        for (int i = 0; i < members; i++) {
-            double angle = (2 * Math.PI * i) / members;
-            Location point = center.clone().add(Math.cos(angle) * radius, 0, Math.sin(angle) * radius);
-            point.setYaw(center.getYaw());
-            point.setPitch(center.getPitch());
-            positions.add(point);
+        Location[] targets = SumoSpawnSlots.assign(combatants, spawns);
+        for (int index = 0; index < combatants.size(); index++) {
+            Player player = combatants.player(index);
+            if (player != null && targets[index] != null) {
+                preparePlayer(player);
+                applyHealthGuard(combatants, index, player);
+            }
         }
-        return positions;
+        return targets;
     }
 
-    private void preparePlayer(Player player, Location spawn) {
-        player.teleport(spawn, TeleportCause.PLUGIN);
-        player.setVelocity(new Vector());
-        player.setFallDistance(0F);
+    private void preparePlayer(Player player) {
         player.setFireTicks(0);
         player.setFoodLevel(20);
         player.setSaturation(20);
@@ -215,160 +388,152 @@ final class SumoRoundHandler implements InGameHandler {
         AttributeInstance maxHealth = player.getAttribute(Attribute.MAX_HEALTH);
         double targetHealth = maxHealth != null ? maxHealth.getValue() : player.getMaxHealth();
         player.setHealth(Math.max(1D, targetHealth));
-        applyHealthGuard(player);
     }
 
-    private Location findOpposingSpawn(String teamId, Map<String, Location> teamSpawns) {
-        String key = teamId.toLowerCase(Locale.ROOT);
-        return teamSpawns.entrySet().stream()
-                .filter(entry -> !entry.getKey().equals(key))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .orElse(null);
-    }
-
-    private void orientSlots(List<Location> slots, Location source, Location opposingSpawn) {
-        if (opposingSpawn == null) {
+    private void settlePlayer(SumoCombatantTable combatants, int index) {
+        Player player = combatants.player(index);
+        if (player == null) {
             return;
         }
-        float yaw = computeFacingYaw(source, opposingSpawn);
-        for (Location slot : slots) {
-            slot.setYaw(yaw);
-            slot.setPitch(0F);
-        }
-    }
-
-    private float computeFacingYaw(Location from, Location target) {
-        double dx = target.getX() - from.getX();
-        double dz = target.getZ() - from.getZ();
-        return (float) (Math.toDegrees(Math.atan2(dz, dx)) - 90.0F);
-    }
-
-    private void applyHealthGuard(Player player) {
-        player.removeMetadata(SumoAttributes.HEALTH_GUARD_METADATA, plugin);
-        player.setMetadata(SumoAttributes.HEALTH_GUARD_METADATA, new FixedMetadataValue(plugin, Boolean.TRUE));
-    }
-
-    private void clearHealthGuard(Player player) {
-        player.removeMetadata(SumoAttributes.HEALTH_GUARD_METADATA, plugin);
+        player.setVelocity(new Vector());
+        player.setFallDistance(0F);
     }
 
-    private void clearHealthGuards(StateContext context) {
-        for (MatchTeam team : context.teams().teams()) {
-            for (UUID memberId : team.members()) {
-                context.findPlayer(memberId).ifPresent(this::clearHealthGuard);
-            }
-        }
+    private void applyHealthGuard(SumoCombatantTable combatants, int index, Player player) {
+        clearHealthGuard(combatants, index);
+        healthGuards.guard(player.getEntityId());
+        combatants.markGuarded(index, player.getEntityId());
     }
 
-    private void latchTieIfNeeded(StateContext context, SumoMatchContext matchContext) {
-        if (matchContext.tieLatched()) {
-            return;
-        }
-        Set<String> teamsBelowThreshold = new HashSet<>();
-        for (UUID playerId : context.getActivePlayers()) {
-            Optional<Player> player = context.findPlayer(playerId);
-            if (player.isEmpty()) {
-                continue;
-            }
-            if (player.get().getLocation().getY() < matchContext.tieY()) {
-                context.team(playerId)
-                        .map(MatchTeam::getId)
-                        .ifPresent(id -> teamsBelowThreshold.add(id.toLowerCase(Locale.ROOT)));
-            }
-        }
-        if (teamsBelowThreshold.size() >= 2) {
-            matchContext.latchTie();
+    private void clearHealthGuard(SumoCombatantTable combatants, int index) {
+        int entityId = combatants.guardedEntityId(index);
+        if (entityId != SumoCombatantTable.NO_ENTITY) {
+            healthGuards.release(entityId);
+            combatants.markGuarded(index, SumoCombatantTable.NO_ENTITY);
         }
     }
 
-    private List<UUID> detectFalls(StateContext context, SumoMatchContext matchContext) {
-        List<UUID> fallen = new ArrayList<>();
-        for (UUID playerId : context.getActivePlayers()) {
-            Optional<Player> player = context.findPlayer(playerId);
-            if (player.isEmpty()) {
-                continue;
-            }
-            if (player.get().getLocation().getY() < matchContext.eliminationY()) {
-                fallen.add(playerId);
-            }
-        }
-        return fallen;
+    private void clearHealthGuards(SumoCombatantTable combatants) {
+        healthGuards.releaseAll(combatants);
     }
 
-    private void eliminatePlayers(StateContext context, Collection<UUID> players) {
-        for (UUID playerId : players) {
-            context.eliminatePlayer(playerId, false, 0L);
-            context.transitionPlayerToSpectator(playerId);
-            context.findPlayer(playerId).ifPresent(this::clearHealthGuard);
-        }
+    private void eliminatePlayer(StateContext context, SumoCombatantTable combatants, int index) {
+        long started = DuelsTickProfiler.start();
+        UUID playerId = combatants.playerId(index);
+        combatants.eliminate(index);
+        context.eliminatePlayer(playerId, false, 0L);
+        context.transitionPlayerToSpectator(playerId);
+        clearHealthGuard(combatants, index);
+        DuelsMetrics.playerEliminated();
+        DuelsTickProfiler.record(DuelsTickPhase.ELIMINATION, started);
     }
 
-    private void resolveOutcome(StateContext context, SumoMatchContext matchContext) {
+    private void resolveOutcome(StateContext context, SumoMatchContext matchContext,
+                                SumoRoundJudge.Presence presence) {
         if (matchContext.resultDeclared()) {
             return;
         }
-        if (matchContext.tieLatched()) {
+        long started = DuelsTickProfiler.start();
+        int outcome = judge.outcome(matchContext, presence);
+        if (outcome == SumoRoundJudge.TIE) {
             announceTie(context, matchContext);
-            return;
+        } else if (outcome != SumoRoundJudge.UNDECIDED) {
+            announceWinner(context, matchContext, outcome);
         }
+        DuelsTickProfiler.record(DuelsTickPhase.OUTCOME, started);
+    }
 
-        List<MatchTeam> aliveTeams = context.teams().teams().stream()
-                .filter(team -> team.members().stream().anyMatch(member -> isActive(context, member)))
-                .collect(Collectors.toList());
-
-        if (aliveTeams.size() == 1) {
-            announceWinner(context, matchContext, aliveTeams.get(0));
-        } else if (aliveTeams.isEmpty()) {
-            announceTie(context, matchContext);
-        }
+    private SumoRoundJudge.Presence presence(StateContext context, SumoCombatantTable combatants) {
+        return index -> isRosterActive(context, combatants, index);
     }
 
-    private boolean isActive(StateContext context, UUID playerId) {
-        RosterManager.Entry entry = context.roster().get(playerId);
+    private boolean isRosterActive(StateContext context, SumoCombatantTable combatants, int index) {
+        RosterManager.Entry entry = context.roster().get(combatants.playerId(index));
         return entry != null && entry.getState() == RosterManager.PlayerState.ACTIVE;
     }
 
-    private void announceWinner(StateContext context, SumoMatchContext matchContext, MatchTeam winner) {
+    private void announceWinner(StateContext context, SumoMatchContext matchContext, int winnerIndex) {
         matchContext.markResultDeclared();
-        MatchOutcomeTitles.showOutcome(context, winner);
+        SumoCombatantTable combatants = matchContext.combatants();
+        MatchTeam winner = combatants.team(winnerIndex);
+        MatchDisplayNames names = MatchDisplayNames.find(context)
+                .orElseGet(() -> MatchDisplayNames.populate(context));
+        MatchOutcomeTitles.showOutcome(names, winner, combatants.players(winnerIndex, true),
+                combatants.players(winnerIndex, false));
         String teamName = LEGACY_SERIALIZER.serialize(winner.getDisplayName());
         context.broadcast(ChatColor.GREEN + matchContext.variant().displayName()
                 + ChatColor.GRAY + " winner: " + ChatColor.AQUA + teamName);
-        concludeMatch(context);
+        concludeMatch(context, matchContext, winnerIndex);
     }
 
     private void announceTie(StateContext context, SumoMatchContext matchContext) {
         matchContext.markResultDeclared();
-        MatchOutcomeTitles.showTie(context);
+        MatchOutcomeTitles.showTie(matchContext.combatants().presentPlayers());
         context.broadcast(ChatColor.YELLOW + matchContext.variant().displayName()
                 + ChatColor.GRAY + " tie! Both teams left the platform.");
-        concludeMatch(context);
+        concludeMatch(context, matchContext, SumoRoundJudge.TIE);
     }
 
-    private void concludeMatch(StateContext context) {
-        clearHealthGuards(context);
+    private void concludeMatch(StateContext context, SumoMatchContext matchContext, int outcome) {
+        boolean tie = outcome == SumoRoundJudge.TIE;
+        long durationMillis = DuelsScoreboard.getClock(context)
+                .map(DuelsMatchClock::elapsedMillis)
+                .orElse(0L);
+        DuelsMetrics.matchConcluded(durationMillis, tie);
+        MatchResult result = buildResult(context, matchContext, outcome, durationMillis);
+        MatchResultWriter.submit(result);
+        RatingEngine.submit(result);
+        if (!tie) {
+            recordStreaks(matchContext.combatants(), outcome);
+        }
+        fallIndex.unregister(matchContext);
+        clearHealthGuards(matchContext.combatants());
         context.setAttribute(MinigameAttributes.MATCH_COMPLETE, Boolean.TRUE);
         context.markMatchComplete();
         context.requestTransition(MinigameBlueprint.STATE_END_GAME);
         DuelsScoreboard.teardown(context);
     }
 
-    private String resolveActiveFlagContext() {
-        if (FLAG_CONTEXT_REGISTERED.get()) {
-            return SUMO_ACTIVE_FLAG_CONTEXT;
+    private void recordStreaks(SumoCombatantTable combatants, int winnerIndex) {
+        for (int index = 0; index < combatants.size(); index++) {
+            if (combatants.teamIndex(index) == winnerIndex) {
+                PlayerStatsCache.recordWin(combatants.playerId(index));
+            } else {
+                PlayerStatsCache.recordLoss(combatants.playerId(index));
+            }
         }
-        ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
-        if (locator == null) {
-            plugin.getLogger().warning("Service locator unavailable; using match fallback action flags.");
-            return ActionFlagContexts.MATCH_ACTIVE_FALLBACK;
+    }
+
+    private MatchResult buildResult(StateContext context, SumoMatchContext matchContext, int outcome,
+                                    long durationMillis) {
+        SumoCombatantTable combatants = matchContext.combatants();
+        List<MatchResult.Team> teams = new ArrayList<>(combatants.teamCount());
+        for (int teamIndex = 0; teamIndex < combatants.teamCount(); teamIndex++) {
+            List<UUID> members = new ArrayList<>();
+            for (int index = 0; index < combatants.size(); index++) {
+                if (combatants.teamIndex(index) == teamIndex) {
+                    members.add(combatants.playerId(index));
+                }
+            }
+            teams.add(new MatchResult.Team(combatants.team(teamIndex).getId(), members));
         }
-        Optional<ActionFlagService> serviceOpt = locator.findService(ActionFlagService.class);
-        if (serviceOpt.isEmpty()) {
-            plugin.getLogger().warning("ActionFlagService unavailable; using match fallback action flags.");
+        boolean tie = outcome == SumoRoundJudge.TIE;
+        return new MatchResult(context.getMatchId(), matchContext.variant().id(),
+                DuelsMatchSettings.of(context).mapId().orElse(""), teams,
+                tie ? MatchResult.NO_WINNER : outcome, tie, durationMillis, System.currentTimeMillis());
+    }
+
+    private String resolveActiveFlagContext() {
+        DuelsServices.Handle<ActionFlagService> actionFlags = DuelsServices.actionFlags();
+        if (!actionFlags.isAvailable()) {
+            plugin.getLogger().warning("ActionFlagService unavailable (" + actionFlags.unavailableReason()
+                    + "); using match fallback action flags.");
             return ActionFlagContexts.MATCH_ACTIVE_FALLBACK;
         }
-        ActionFlagService service = serviceOpt.get();
+        ActionFlagService service = actionFlags.require();
+        if (FLAG_CONTEXT_OWNER.get() == service) {
+            return SUMO_ACTIVE_FLAG_CONTEXT;
+        }
         if (!service.hasContext(SUMO_ACTIVE_FLAG_CONTEXT)) {
             EnumSet<ActionFlag> flags = EnumSet.allOf(ActionFlag.class);
             flags.remove(ActionFlag.INVISIBLE_PACKET);
@@ -379,7 +544,8 @@ final class SumoRoundHandler implements InGameHandler {
                     .withGamemode(GameMode.SURVIVAL);
             service.registerContext(SUMO_ACTIVE_FLAG_CONTEXT, bundle);
         }
-        FLAG_CONTEXT_REGISTERED.set(true);
+        // A re-registered service starts without our context, so remember which instance received it.
+        FLAG_CONTEXT_OWNER.set(service);
         return SUMO_ACTIVE_FLAG_CONTEXT;
     }
 }
@@ -0,0 +1,136 @@
+package sh.harold.duels.sumo;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+/**
+ * Per-tick fall and outcome rules of a Sumo round, kept apart from the state machine that acts on them.
+ */
+final class SumoRoundJudge {
+    static final int UNDECIDED = -2;
+    static final int TIE = -1;
+
+    private final SumoFallDetection fallDetection;
+    private final Location scratchLocation = new Location(null, 0D, 0D, 0D);
+
+    SumoRoundJudge(SumoFallDetection fallDetection) {
+        this.fallDetection = fallDetection;
+    }
+
+    SumoFallDetection fallDetection() {
+        return fallDetection;
+    }
+
+    void latchTieIfNeeded(SumoMatchContext matchContext, Presence presence) {
+        if (matchContext.tieLatched()) {
+            return;
+        }
+        SumoCombatantTable combatants = matchContext.combatants();
+        boolean polling = fallDetection == SumoFallDetection.POLLING;
+        if (!polling && combatants.belowTieCount() < 2) {
+            return;
+        }
+        int firstTeam = -1;
+        for (int index = 0; index < combatants.size(); index++) {
+            if (!isActive(combatants, index, presence)) {
+                continue;
+            }
+            boolean belowTie = polling
+                    ? sampleY(matchContext, index) < matchContext.tieY()
+                    : combatants.isBelowTie(index);
+            if (!belowTie) {
+                continue;
+            }
+            int teamIndex = combatants.teamIndex(index);
+            if (firstTeam < 0) {
+                firstTeam = teamIndex;
+            } else if (firstTeam != teamIndex) {
+                matchContext.latchTie();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hands every active combatant below the elimination line to {@code eliminator}; returns whether any fell.
+     */
+    boolean eliminateFallen(SumoMatchContext matchContext, Presence presence, Eliminator eliminator) {
+        SumoCombatantTable combatants = matchContext.combatants();
+        boolean polling = fallDetection == SumoFallDetection.POLLING;
+        if (!polling && combatants.belowEliminationCount() == 0) {
+            return false;
+        }
+        boolean eliminated = false;
+        for (int index = 0; index < combatants.size(); index++) {
+            if (!isActive(combatants, index, presence)) {
+                continue;
+            }
+            boolean fallen = polling
+                    ? sampleY(matchContext, index) < matchContext.eliminationY()
+                    : combatants.isBelowElimination(index);
+            if (fallen) {
+                eliminator.eliminate(index);
+                eliminated = true;
+            }
+        }
+        return eliminated;
+    }
+
+    /**
+     * Returns the winning team index, {@link #TIE}, or {@link #UNDECIDED} while several teams are still standing.
+     */
+    int outcome(SumoMatchContext matchContext, Presence presence) {
+        if (matchContext.tieLatched()) {
+            return TIE;
+        }
+        SumoCombatantTable combatants = matchContext.combatants();
+        int aliveTeam = -1;
+        for (int index = 0; index < combatants.size(); index++) {
+            if (!isActive(combatants, index, presence)) {
+                continue;
+            }
+            int teamIndex = combatants.teamIndex(index);
+            if (aliveTeam < 0) {
+                aliveTeam = teamIndex;
+            } else if (aliveTeam != teamIndex) {
+                return UNDECIDED;
+            }
+        }
+        return aliveTeam >= 0 ? aliveTeam : TIE;
+    }
+
+    /**
+     * A combatant counts while this match has not eliminated them and the roster still has them active, whether or
+     * not they are connected.
+     */
+    boolean isActive(SumoCombatantTable combatants, int index, Presence presence) {
+        return combatants.isActive(index) && presence.isRosterActive(index);
+    }
+
+    /**
+     * Height of a combatant for polling, or negative infinity once they have left the arena's bounds.
+     */
+    private double sampleY(SumoMatchContext matchContext, int index) {
+        Player player = matchContext.combatants().player(index);
+        if (player == null) {
+            return Double.MAX_VALUE;
+        }
+        Location location = player.getLocation(scratchLocation);
+        return matchContext.arena().contains(location.getX(), location.getZ())
+                ? location.getY()
+                : Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * The match roster's view of a combatant; it stays authoritative over the combatant table.
+     */
+    @FunctionalInterface
+    interface Presence {
+        boolean isRosterActive(int index);
+    }
+
+    @FunctionalInterface
+    interface Eliminator {
+        void eliminate(int index);
+    }
+}
@@ -7,7 +7,16 @@ final class SumoRules {
     static final double LOSS_THRESHOLD = 8.0D;
     static final String SPAWN_POI_TYPE = "sumo_spawn";
     static final Duration MATCH_DURATION = Duration.ofMinutes(3);
+    static final SumoFallDetection FALL_DETECTION = SumoFallDetection.EVENT_DRIVEN;
+    static final int START_TIMEOUT_TICKS = 100;
 
     private SumoRules() {
     }
+
+    /**
+     * Ticks a match recorder must hold to cover the start gate and a match that runs out the clock.
+     */
+    static int recordingCapacityTicks(Duration matchDuration) {
+        return (int) (matchDuration.toSeconds() * 20L) + START_TIMEOUT_TICKS;
+    }
 }
@@ -7,9 +7,13 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import org.bukkit.Location;
+import org.bukkit.World;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+/**
+ * World-relative spawn template parsed from a map's POIs; bound to a concrete match world on resolve.
+ */
 final class SumoSpawnLayout {
     private final Map<String, SpawnPoint> labeledSpawns;
     private final List<SpawnPoint> orderedFallback;
@@ -31,13 +35,9 @@ final class SumoSpawnLayout {
             if (!SumoRules.SPAWN_POI_TYPE.equalsIgnoreCase(type)) {
                 return;
             }
-            Location spawnLocation = cloneAndNormalize(location);
-            if (config.has("yaw")) {
-                spawnLocation.setYaw(parseFloat(config.get("yaw")));
-            }
-            if (config.has("pitch")) {
-                spawnLocation.setPitch(parseFloat(config.get("pitch")));
-            }
+            Objects.requireNonNull(location.getWorld(), "Spawn POI missing world");
+            float yaw = config.has("yaw") ? parseFloat(config.get("yaw")) : location.getYaw();
+            float pitch = config.has("pitch") ? parseFloat(config.get("pitch")) : location.getPitch();
 
             String label = null;
             if (config.has("team")) {
@@ -46,7 +46,8 @@ final class SumoSpawnLayout {
                 label = config.get("id").getAsString();
             }
 
-            SpawnPoint point = new SpawnPoint(label == null ? null : label.toLowerCase(Locale.ROOT), spawnLocation);
+            SpawnPoint point = new SpawnPoint(label == null ? null : label.toLowerCase(Locale.ROOT),
+                    centerOnBlock(location.getX()), location.getY(), centerOnBlock(location.getZ()), yaw, pitch);
             fallback.add(point);
             if (point.label() != null) {
                 labeled.put(point.label(), point);
@@ -56,29 +57,33 @@ final class SumoSpawnLayout {
         return new SumoSpawnLayout(labeled, fallback);
     }
 
-    Location resolve(String teamId, int fallbackIndex) {
+    Location resolve(World world, String teamId, int fallbackIndex) {
+        return resolve(world, teamId, fallbackIndex, 0D, 0D);
+    }
+
+    /**
+     * Resolves a spawn for a copy of the map placed {@code offsetX}/{@code offsetZ} blocks into {@code world}.
+     */
+    Location resolve(World world, String teamId, int fallbackIndex, double offsetX, double offsetZ) {
         String key = teamId.toLowerCase(Locale.ROOT);
         SpawnPoint labeledPoint = labeledSpawns.get(key);
         if (labeledPoint != null) {
-            return labeledPoint.location().clone();
+            return labeledPoint.bind(world, offsetX, offsetZ);
         }
         if (fallbackIndex >= 0 && fallbackIndex < orderedFallback.size()) {
-            return orderedFallback.get(fallbackIndex).location().clone();
+            return orderedFallback.get(fallbackIndex).bind(world, offsetX, offsetZ);
         }
         throw new IllegalStateException("Missing Sumo spawn for team " + teamId);
     }
 
-    private static Location cloneAndNormalize(Location source) {
-        Objects.requireNonNull(source.getWorld(), "Spawn POI missing world");
-        Location clone = source.clone();
+    int size() {
+        return orderedFallback.size();
+    }
+
+    private static double centerOnBlock(double coordinate) {
         // Center players on the block if integer coordinates are provided.
-        if (Math.abs(clone.getX() - clone.getBlockX()) < 0.0001) {
-            clone.setX(clone.getBlockX() + 0.5);
-        }
-        if (Math.abs(clone.getZ() - clone.getBlockZ()) < 0.0001) {
-            clone.setZ(clone.getBlockZ() + 0.5);
-        }
-        return clone;
+        double block = Math.floor(coordinate);
+        return Math.abs(coordinate - block) < 0.0001 ? block + 0.5 : coordinate;
     }
 
     private static float parseFloat(JsonElement element) {
@@ -89,6 +94,9 @@ final class SumoSpawnLayout {
         }
     }
 
-    record SpawnPoint(String label, Location location) {
+    record SpawnPoint(String label, double x, double y, double z, float yaw, float pitch) {
+        Location bind(World world, double offsetX, double offsetZ) {
+            return new Location(world, x + offsetX, y, z + offsetZ, yaw, pitch);
+        }
     }
 }
@@ -0,0 +1,112 @@
+package sh.harold.duels.sumo;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bukkit.Location;
+
+/**
+ * Spreads each team around its spawn, facing the opposition, and hands the slots out to combatants.
+ */
+final class SumoSpawnSlots {
+    private static final double MIN_SLOT_RADIUS = 0.75D;
+    private static final double SLOT_SPACING = 0.9D;
+
+    private SumoSpawnSlots() {
+    }
+
+    /**
+     * Spawn slot of every combatant by index, {@code null} for teams whose spawn is missing.
+     */
+    static Location[] assign(SumoCombatantTable combatants, Location[] spawns) {
+        int teamCount = spawns.length;
+        int[] members = new int[teamCount];
+        for (int index = 0; index < combatants.size(); index++) {
+            members[combatants.teamIndex(index)]++;
+        }
+        Location[] opposingSpawns = findOpposingSpawns(spawns);
+        List<List<Location>> slotsByTeam = new ArrayList<>(teamCount);
+        for (int teamIndex = 0; teamIndex < teamCount; teamIndex++) {
+            List<Location> slots = null;
+            if (spawns[teamIndex] != null) {
+                slots = distributeAround(spawns[teamIndex], members[teamIndex]);
+                orientSlots(slots, spawns[teamIndex], opposingSpawns[teamIndex]);
+            }
+            slotsByTeam.add(slots);
+        }
+
+        // One pass over the combatants, handing out each team's slots in roster order.
+        Location[] targets = new Location[combatants.size()];
+        int[] nextSlot = new int[teamCount];
+        for (int index = 0; index < combatants.size(); index++) {
+            int teamIndex = combatants.teamIndex(index);
+            List<Location> slots = slotsByTeam.get(teamIndex);
+            if (slots != null) {
+                targets[index] = slots.get(Math.min(nextSlot[teamIndex]++, slots.size() - 1));
+            }
+        }
+        return targets;
+    }
+
+    private static List<Location> distributeAround(Location center, int members) {
+        if (members <= 1) {
+            return List.of(center.clone());
+        }
+        List<Location> positions = new ArrayList<>(members);
+        // Keep neighbours about SLOT_SPACING apart on the ring so large teams do not spawn inside each other.
+        double radius = Math.max(MIN_SLOT_RADIUS, members * SLOT_SPACING / (2 * Math.PI));
+        for (int i = 0; i < members; i++) {
+            double angle = (2 * Math.PI * i) / members;
+            Location point = center.clone().add(Math.cos(angle) * radius, 0, Math.sin(angle) * radius);
+            point.setYaw(center.getYaw());
+            point.setPitch(center.getPitch());
+            positions.add(point);
+        }
+        return positions;
+    }
+
+    /**
+     * Point each team faces: the other team's spawn, or the centre of all other spawns with more than two teams.
+     */
+    private static Location[] findOpposingSpawns(Location[] spawns) {
+        double sumX = 0D;
+        double sumY = 0D;
+        double sumZ = 0D;
+        int known = 0;
+        for (Location spawn : spawns) {
+            if (spawn != null) {
+                sumX += spawn.getX();
+                sumY += spawn.getY();
+                sumZ += spawn.getZ();
+                known++;
+            }
+        }
+        Location[] opposing = new Location[spawns.length];
+        for (int teamIndex = 0; teamIndex < spawns.length; teamIndex++) {
+            Location spawn = spawns[teamIndex];
+            if (spawn == null || known < 2) {
+                continue;
+            }
+            int others = known - 1;
+            opposing[teamIndex] = new Location(spawn.getWorld(), (sumX - spawn.getX()) / others,
+                    (sumY - spawn.getY()) / others, (sumZ - spawn.getZ()) / others);
+        }
+        return opposing;
+    }
+
+    private static void orientSlots(List<Location> slots, Location source, Location opposingSpawn) {
+        if (opposingSpawn == null) {
+            return;
+        }
+        float yaw = computeFacingYaw(source, opposingSpawn);
+        for (Location slot : slots) {
+            slot.setYaw(yaw);
+            slot.setPitch(0F);
+        }
+    }
+
+    private static float computeFacingYaw(Location from, Location target) {
+        double dx = target.getX() - from.getX();
+        double dz = target.getZ() - from.getZ();
+        return (float) (Math.toDegrees(Math.atan2(dz, dx)) - 90.0F);
+    }
+}
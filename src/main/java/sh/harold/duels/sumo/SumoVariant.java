@@ -1,26 +1,49 @@
 package sh.harold.duels.sumo;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import org.bukkit.configuration.ConfigurationSection;
+import sh.harold.duels.DuelsMatchSettings;
 
-enum SumoVariant {
-    SOLO("solo", "Solo 1v1", "Solo Duel", 1, 2),
-    DUOS("duos", "Duos 2v2", "Duos 2v2", 2, 4);
+/**
+ * One playable Sumo format. The built-in {@link #SOLO} and {@link #DUOS} apply until {@link #load} installs the
+ * variants from {@code config.yml}.
+ */
+final class SumoVariant {
+    static final SumoVariant SOLO = new SumoVariant("solo", "Solo 1v1", "Solo Duel", 2, 1, 2,
+            SumoRules.TIE_THRESHOLD, SumoRules.LOSS_THRESHOLD, SumoRules.MATCH_DURATION);
+    static final SumoVariant DUOS = new SumoVariant("duos", "Duos 2v2", "Duos 2v2", 2, 2, 4,
+            SumoRules.TIE_THRESHOLD, SumoRules.LOSS_THRESHOLD, SumoRules.MATCH_DURATION);
 
-    private static final String VARIANT_METADATA_KEY = "variant";
+    private static volatile Registry registry = new Registry(List.of(SOLO, DUOS), SOLO);
 
     private final String id;
     private final String displayName;
     private final String scoreboardLabel;
+    private final int teamCount;
     private final int playersPerTeam;
     private final int minimumPlayers;
+    private final double tieThreshold;
+    private final double lossThreshold;
+    private final Duration matchDuration;
 
-    SumoVariant(String id, String displayName, String scoreboardLabel, int playersPerTeam, int minimumPlayers) {
+    SumoVariant(String id, String displayName, String scoreboardLabel, int teamCount, int playersPerTeam,
+                int minimumPlayers, double tieThreshold, double lossThreshold, Duration matchDuration) {
         this.id = id;
         this.displayName = displayName;
         this.scoreboardLabel = scoreboardLabel;
+        this.teamCount = teamCount;
         this.playersPerTeam = playersPerTeam;
         this.minimumPlayers = minimumPlayers;
+        this.tieThreshold = tieThreshold;
+        this.lossThreshold = lossThreshold;
+        this.matchDuration = matchDuration;
     }
 
     public String id() {
@@ -35,28 +58,172 @@ enum SumoVariant {
         return scoreboardLabel;
     }
 
+    public int teamCount() {
+        return teamCount;
+    }
+
     public int playersPerTeam() {
         return playersPerTeam;
     }
 
+    public int maximumPlayers() {
+        return teamCount * playersPerTeam;
+    }
+
     public int minimumPlayers() {
         return minimumPlayers;
     }
 
-    public static SumoVariant fromMetadata(Map<String, String> metadata) {
-        if (metadata == null || metadata.isEmpty()) {
-            return SOLO;
+    /**
+     * Blocks below the match spawn at which two teams falling together count as a tie.
+     */
+    public double tieThreshold() {
+        return tieThreshold;
+    }
+
+    /**
+     * Blocks below the match spawn at which a combatant is eliminated.
+     */
+    public double lossThreshold() {
+        return lossThreshold;
+    }
+
+    public Duration matchDuration() {
+        return matchDuration;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    static List<SumoVariant> all() {
+        return registry.variants();
+    }
+
+    static SumoVariant defaultVariant() {
+        return registry.defaultVariant();
+    }
+
+    public static SumoVariant fromSettings(DuelsMatchSettings settings) {
+        return fromId(settings.variantId()).orElseGet(SumoVariant::defaultVariant);
+    }
+
+    static Optional<SumoVariant> fromId(String normalizedId) {
+        return Optional.ofNullable(registry.byId().get(normalizedId));
+    }
+
+    /**
+     * Lists everything wrong with the given settings for a Sumo slot; an empty list means the slot is playable.
+     */
+    static List<String> validate(DuelsMatchSettings settings) {
+        List<String> errors = new ArrayList<>(settings.validationErrors());
+        Map<String, SumoVariant> byId = registry.byId();
+        String variantId = settings.variantId();
+        if (!variantId.isEmpty() && !byId.containsKey(variantId)) {
+            errors.add("Unknown Sumo variant '" + variantId + "' (expected one of " + byId.keySet() + ")");
         }
-        String variantId = metadata.get(VARIANT_METADATA_KEY);
-        if (variantId == null || variantId.isBlank()) {
-            return SOLO;
+        SumoVariant variant = fromSettings(settings);
+        settings.teamSize().ifPresent(size -> {
+            if (size < variant.playersPerTeam) {
+                errors.add("'" + DuelsMatchSettings.TEAM_MAX_KEY + "' of " + size + " cannot seat "
+                        + variant.id + " (" + variant.playersPerTeam + " per team)");
+            }
+        });
+        settings.teamCount().ifPresent(count -> {
+            if (count < 2) {
+                errors.add("'" + DuelsMatchSettings.TEAM_COUNT_KEY + "' must be at least 2 but was " + count);
+            } else if (count != variant.teamCount) {
+                errors.add("'" + DuelsMatchSettings.TEAM_COUNT_KEY + "' of " + count + " does not match "
+                        + variant.id + " (" + variant.teamCount + " teams)");
+            }
+        });
+        return errors;
+    }
+
+    /**
+     * Replaces the registered variants with those under {@code section} and returns a message for every entry that
+     * was skipped. The built-ins stay registered when the section yields no valid variant.
+     */
+    static List<String> load(ConfigurationSection section) {
+        List<String> errors = new ArrayList<>();
+        ConfigurationSection variants = section != null ? section.getConfigurationSection("variants") : null;
+        if (variants == null) {
+            errors.add("No 'variants' section; using the built-in Sumo variants");
+            return errors;
+        }
+        List<SumoVariant> loaded = new ArrayList<>();
+        for (String key : variants.getKeys(false)) {
+            ConfigurationSection entry = variants.getConfigurationSection(key);
+            if (entry == null) {
+                errors.add("Variant '" + key + "' is not a section");
+                continue;
+            }
+            String id = key.trim().toLowerCase(Locale.ROOT);
+            int teams = entry.getInt("teams", 2);
+            int teamSize = entry.getInt("team-size", 1);
+            int minimumPlayers = entry.getInt("min-players", teams * teamSize);
+            double tieThreshold = entry.getDouble("tie-threshold", SumoRules.TIE_THRESHOLD);
+            double lossThreshold = entry.getDouble("loss-threshold", SumoRules.LOSS_THRESHOLD);
+            long durationSeconds = entry.getLong("duration-seconds", SumoRules.MATCH_DURATION.toSeconds());
+            String problem = describeProblem(teams, teamSize, minimumPlayers, tieThreshold, lossThreshold,
+                    durationSeconds);
+            if (problem != null) {
+                errors.add("Variant '" + id + "' skipped: " + problem);
+                continue;
+            }
+            String displayName = entry.getString("display-name", id);
+            loaded.add(new SumoVariant(id, displayName, entry.getString("scoreboard-label", displayName), teams,
+                    teamSize, minimumPlayers, tieThreshold, lossThreshold, Duration.ofSeconds(durationSeconds)));
+        }
+        if (loaded.isEmpty()) {
+            errors.add("No valid Sumo variants configured; using the built-ins");
+            return errors;
+        }
+        String defaultId = section.getString("default-variant", loaded.get(0).id).trim().toLowerCase(Locale.ROOT);
+        SumoVariant defaultVariant = loaded.stream()
+                .filter(variant -> variant.id.equals(defaultId))
+                .findFirst()
+                .orElse(null);
+        if (defaultVariant == null) {
+            defaultVariant = loaded.get(0);
+            errors.add("Default variant '" + defaultId + "' is not configured; using '" + defaultVariant.id + "'");
+        }
+        registry = new Registry(loaded, defaultVariant);
+        return errors;
+    }
+
+    private static String describeProblem(int teams, int teamSize, int minimumPlayers, double tieThreshold,
+                                          double lossThreshold, long durationSeconds) {
+        if (teams < 2) {
+            return "needs at least 2 teams";
+        }
+        if (teamSize < 1) {
+            return "needs at least 1 player per team";
+        }
+        if (minimumPlayers < 2 || minimumPlayers > teams * teamSize) {
+            return "min-players must be between 2 and " + teams * teamSize;
+        }
+        if (tieThreshold <= 0D || lossThreshold <= tieThreshold) {
+            return "needs 0 < tie-threshold < loss-threshold";
         }
-        String normalized = variantId.trim().toLowerCase(Locale.ROOT);
-        for (SumoVariant variant : values()) {
-            if (variant.id.equalsIgnoreCase(normalized)) {
-                return variant;
+        if (durationSeconds <= 0L) {
+            return "duration-seconds must be positive";
+        }
+        return null;
+    }
+
+    private record Registry(List<SumoVariant> variants, Map<String, SumoVariant> byId, SumoVariant defaultVariant) {
+        Registry(List<SumoVariant> variants, SumoVariant defaultVariant) {
+            this(List.copyOf(variants), index(variants), defaultVariant);
+        }
+
+        private static Map<String, SumoVariant> index(List<SumoVariant> variants) {
+            Map<String, SumoVariant> byId = new LinkedHashMap<>();
+            for (SumoVariant variant : variants) {
+                byId.put(variant.id(), variant);
             }
+            return Collections.unmodifiableMap(byId);
         }
-        return SOLO;
     }
 }
@@ -0,0 +1,112 @@
+package sh.harold.duels.scoreboard;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The per-match scoreboard work of {@link DuelsScoreboard} (clock, opponent pairing, line diffing) without a
+ * scoreboard service; {@link #refresh()} reports how many viewers would have been pushed an update. The clock
+ * runs on simulated ticks, so a run covers whole matches regardless of how fast the host is.
+ */
+public final class SimulatedScoreboard {
+    public static final int REFRESH_PERIOD_TICKS = DuelsRefreshScheduler.PERIOD_TICKS;
+    private static final long NANOS_PER_TICK = 50_000_000L;
+
+    private final DuelsMatchClock clock;
+    private final DuelsOpponentPairing opponents;
+    private final UUID[] playerIds;
+    private final Map<UUID, Integer> indexById;
+    private final DuelsScoreboardLineCache lineCache = new DuelsScoreboardLineCache();
+    private final String[] names;
+    private final double[] health;
+    private long simulatedNanos;
+
+    public SimulatedScoreboard(Duration matchDuration, int[] teamIndices, String[] names) {
+        DuelsTimeLeftLines.ensureCapacity(matchDuration);
+        this.clock = DuelsMatchClock.start(matchDuration, this::simulatedNanos);
+        this.opponents = new DuelsOpponentPairing(teamIndices);
+        this.playerIds = new UUID[teamIndices.length];
+        this.indexById = new HashMap<>(teamIndices.length * 2);
+        for (int index = 0; index < teamIndices.length; index++) {
+            playerIds[index] = UUID.randomUUID();
+            indexById.put(playerIds[index], index);
+        }
+        this.names = names.clone();
+        this.health = new double[teamIndices.length];
+        lineCache.register(viewerId -> DuelsTimeLeftLines.lines(clock));
+        lineCache.register(this::opponentLines);
+    }
+
+    /**
+     * Advances the clock by one server tick, then performs the clock upkeep the round handler does every tick.
+     */
+    public boolean tickClock() {
+        simulatedNanos += NANOS_PER_TICK;
+        clock.setFrozen(false);
+        return clock.isExpired();
+    }
+
+    public UUID playerId(int index) {
+        return playerIds[index];
+    }
+
+    public void sample(int index, double x, double y, double z, float yaw, boolean active, double currentHealth) {
+        opponents.place(index, x, y, z, yaw, active);
+        health[index] = currentHealth;
+    }
+
+    public int refresh() {
+        opponents.pairNearest();
+        int pushed = 0;
+        for (int index = 0; index < opponents.size(); index++) {
+            if (lineCache.update(playerIds[index])) {
+                pushed++;
+            }
+        }
+        return pushed;
+    }
+
+    /**
+     * Checks the last pairing against a full scan: every combatant's opponent must be exactly as close as the
+     * nearest active combatant of another team. Returns how many combatants were checked.
+     */
+    public int checkPairing() {
+        for (int index = 0; index < opponents.size(); index++) {
+            int paired = opponents.nearestOpponent(index);
+            int scanned = opponents.nearestTo(opponents.x(index), opponents.y(index), opponents.z(index),
+                    opponents.teamIndex(index));
+            // Equidistant opponents may resolve either way, so the distances are compared rather than the indices.
+            double pairedDistance = paired == DuelsOpponentPairing.NONE
+                    ? Double.NaN
+                    : opponents.distanceSquared(index, paired);
+            double scannedDistance = scanned == DuelsOpponentPairing.NONE
+                    ? Double.NaN
+                    : opponents.distanceSquared(index, scanned);
+            if (Double.compare(pairedDistance, scannedDistance) != 0) {
+                throw new IllegalStateException("Combatant " + index + " paired with " + paired + " at "
+                        + pairedDistance + " but the nearest opponent is " + scanned + " at " + scannedDistance);
+            }
+        }
+        return opponents.size();
+    }
+
+    public void clear() {
+        lineCache.clear();
+    }
+
+    private long simulatedNanos() {
+        return simulatedNanos;
+    }
+
+    private List<String> opponentLines(UUID viewerId) {
+        int viewer = indexById.get(viewerId);
+        int opponent = opponents.nearestOpponent(viewer);
+        if (opponent == DuelsOpponentPairing.NONE) {
+            return DuelsOpponentLines.SEARCHING_LINES;
+        }
+        return DuelsOpponentLines.render(opponents, viewer, opponent, names[opponent], health[opponent], 20D);
+    }
+}
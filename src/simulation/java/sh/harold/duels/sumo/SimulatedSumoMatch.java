@@ -0,0 +1,170 @@
+package sh.harold.duels.sumo;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import sh.harold.duels.scoreboard.SimulatedScoreboard;
+
+/**
+ * One scripted Sumo match of a given variant: its teams start spread around a round platform and wander until the
+ * script pushes every team but one (or all of them) off the edge.
+ */
+final class SimulatedSumoMatch {
+    enum Script {
+        DECISIVE,
+        TIE,
+        TIMEOUT
+    }
+
+    private static final double ORIGIN_Y = 64D;
+    private static final double PLATFORM_RADIUS = 4.5D;
+    private static final double SPAWN_RADIUS = 3D;
+    private static final double WALK_STEP = 0.12D;
+    private static final double PUSH_STEP = 0.25D;
+    private static final double GRAVITY = 0.08D;
+    private static final double DRAG = 0.98D;
+    private static final SumoRoundJudge.Presence ROSTER_ACTIVE = index -> true;
+
+    private final UUID worldId = UUID.randomUUID();
+    private final SplittableRandom random;
+    private final Script script;
+    private final int fallTick;
+    private final int survivingTeam;
+    private final int maxTicks;
+    private final int refreshSlot;
+    private final SumoCombatantTable combatants;
+    private final SumoMatchContext matchContext;
+    private final SimulatedScoreboard scoreboard;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final double[] velocityY;
+    private final float[] yaw;
+    private int tick;
+
+    SimulatedSumoMatch(SumoVariant variant, int refreshSlot, SumoHealthGuards healthGuards, SplittableRandom random) {
+        this.random = random;
+        this.maxTicks = (int) (variant.matchDuration().toMillis() / 50L);
+        this.refreshSlot = refreshSlot;
+        int roll = random.nextInt(20);
+        this.script = roll == 0 ? Script.TIMEOUT : roll < 3 ? Script.TIE : Script.DECISIVE;
+        this.fallTick = random.nextInt(Math.max(1, maxTicks / 10), Math.max(2, maxTicks - 40));
+        int teamCount = variant.teamCount();
+        this.survivingTeam = random.nextInt(teamCount);
+
+        int size = variant.maximumPlayers();
+        UUID[] playerIds = new UUID[size];
+        int[] teamIndices = new int[size];
+        String[] names = new String[size];
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+        this.velocityY = new double[size];
+        this.yaw = new float[size];
+        for (int index = 0; index < size; index++) {
+            teamIndices[index] = index % teamCount;
+            names[index] = "&7Sim" + index;
+            double angle = 2D * Math.PI * teamIndices[index] / teamCount + random.nextDouble(-0.2D, 0.2D);
+            x[index] = -Math.sin(angle) * SPAWN_RADIUS;
+            y[index] = ORIGIN_Y;
+            z[index] = Math.cos(angle) * SPAWN_RADIUS;
+            // Facing the platform centre, in Minecraft yaw.
+            yaw[index] = (float) Math.toDegrees(angle) + 180F;
+        }
+        this.scoreboard = new SimulatedScoreboard(variant.matchDuration(), teamIndices, names);
+        for (int index = 0; index < size; index++) {
+            playerIds[index] = scoreboard.playerId(index);
+        }
+        this.combatants = SumoCombatantTable.detached(teamCount, playerIds, teamIndices);
+        this.matchContext = new SumoMatchContext(variant, SumoArena.wholeWorld(worldId), ORIGIN_Y,
+                Map.of(), combatants, healthGuards, null);
+        matchContext.markPlayersLanded();
+    }
+
+    SumoMatchContext matchContext() {
+        return matchContext;
+    }
+
+    int playerCount() {
+        return combatants.size();
+    }
+
+    /**
+     * Advances the match by one server tick and returns the judge's outcome; scoreboard pushes go to
+     * {@code pushes}. Unless {@code pairingChecks} is {@code null}, every opponent pairing is checked against a
+     * full scan and the number of combatants checked is added to it.
+     */
+    int tick(SumoFallIndex fallIndex, SumoRoundJudge judge, int[] pushes, long[] pairingChecks) {
+        tick++;
+        move(fallIndex);
+
+        if (scoreboard.tickClock() || tick >= maxTicks) {
+            matchContext.latchTie();
+        }
+        judge.latchTieIfNeeded(matchContext, ROSTER_ACTIVE);
+        judge.eliminateFallen(matchContext, ROSTER_ACTIVE, combatants::eliminate);
+        int outcome = judge.outcome(matchContext, ROSTER_ACTIVE);
+
+        if (tick % SimulatedScoreboard.REFRESH_PERIOD_TICKS == refreshSlot) {
+            for (int index = 0; index < combatants.size(); index++) {
+                scoreboard.sample(index, x[index], y[index], z[index], yaw[index], combatants.isActive(index), 20D);
+            }
+            pushes[0] += scoreboard.refresh();
+            if (pairingChecks != null) {
+                pairingChecks[0] += scoreboard.checkPairing();
+            }
+        }
+        return outcome;
+    }
+
+    void conclude(SumoFallIndex fallIndex, SumoHealthGuards healthGuards) {
+        matchContext.markResultDeclared();
+        fallIndex.unregister(matchContext);
+        healthGuards.releaseAll(combatants);
+        scoreboard.clear();
+    }
+
+    private void move(SumoFallIndex fallIndex) {
+        for (int index = 0; index < combatants.size(); index++) {
+            if (!combatants.isActive(index)) {
+                continue;
+            }
+            if (isFalling(index)) {
+                double radius = Math.max(1.0E-3D, Math.hypot(x[index], z[index]));
+                x[index] += x[index] / radius * PUSH_STEP;
+                z[index] += z[index] / radius * PUSH_STEP;
+                if (radius + PUSH_STEP > PLATFORM_RADIUS) {
+                    velocityY[index] = (velocityY[index] - GRAVITY) * DRAG;
+                    y[index] += velocityY[index];
+                }
+            } else {
+                x[index] += random.nextDouble(-WALK_STEP, WALK_STEP);
+                z[index] += random.nextDouble(-WALK_STEP, WALK_STEP);
+                keepOnPlatform(index);
+                yaw[index] += (float) random.nextDouble(-10D, 10D);
+            }
+            // Every branch moves the combatant, so SumoMovementListener would forward each of these.
+            fallIndex.recordPosition(worldId, combatants.playerId(index), x[index], y[index], z[index]);
+        }
+    }
+
+    private boolean isFalling(int index) {
+        if (tick < fallTick) {
+            return false;
+        }
+        return switch (script) {
+            case DECISIVE -> combatants.teamIndex(index) != survivingTeam;
+            case TIE -> true;
+            case TIMEOUT -> false;
+        };
+    }
+
+    private void keepOnPlatform(int index) {
+        double limit = PLATFORM_RADIUS - 0.5D;
+        double radius = Math.hypot(x[index], z[index]);
+        if (radius > limit) {
+            x[index] *= limit / radius;
+            z[index] *= limit / radius;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package sh.harold.duels.sumo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import org.bukkit.configuration.file.YamlConfiguration;
+import sh.harold.duels.scoreboard.SimulatedScoreboard;
+
+/**
+ * Headless load test: keeps {@code --matches} scripted Sumo matches running on one thread, replacing each one as
+ * it concludes, and reports what a server tick costs.
+ *
+ * <p>Matches play a variant from the shipped {@code config.yml}: {@code --variant} names one, otherwise the first
+ * two-team variant with {@code --players-per-team} players per team is used.
+ *
+ * <p>Usage: {@code ./gradlew runSimulation -Pargs="--matches 2000 --players-per-team 2"}. With
+ * {@code --budget-us} the run fails when the p99 cost of one match tick exceeds that many microseconds; variants
+ * seating {@value #LARGE_MATCH_PLAYERS} or more players are held to {@value #LARGE_MATCH_BUDGET_MICROS} us unless
+ * another budget is given, so {@code -Pargs="--variant squads"} checks 8v8. {@code --check-pairing true}
+ * checks every nearest-opponent pairing against a full scan and fails on the first mismatch; it adds to the
+ * measured cost, so leave it off when timing.
+ */
+public final class SumoLoadSimulation {
+    private static final double TICK_BUDGET_NANOS = 50_000_000D;
+    static final int LARGE_MATCH_PLAYERS = 16;
+    static final double LARGE_MATCH_BUDGET_MICROS = 25D;
+
+    private final int matchCount;
+    private final SumoVariant variant;
+    private final int warmupTicks;
+    private final int measuredTicks;
+    private final double budgetMicros;
+    private final SplittableRandom random;
+    private final SumoFallIndex fallIndex = new SumoFallIndex();
+    private final SumoHealthGuards healthGuards = new SumoHealthGuards();
+    private final SumoRoundJudge judge = new SumoRoundJudge(SumoRules.FALL_DETECTION);
+    private final SimulatedSumoMatch[] matches;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final int[] pushes = new int[1];
+    private final long[] pairingChecks;
+    private long wins;
+    private long ties;
+    private int nextRefreshSlot;
+
+    private SumoLoadSimulation(int matchCount, SumoVariant variant, int warmupTicks, int measuredTicks,
+                               long seed, double budgetMicros, boolean checkPairing) {
+        this.matchCount = matchCount;
+        this.pairingChecks = checkPairing ? new long[1] : null;
+        this.budgetMicros = budgetMicros;
+        this.variant = variant;
+        this.warmupTicks = warmupTicks;
+        this.measuredTicks = measuredTicks;
+        this.random = new SplittableRandom(seed);
+        this.matches = new SimulatedSumoMatch[matchCount];
+    }
+
+    public static void main(String[] args) {
+        int matchCount = 1000;
+        int playersPerTeam = 1;
+        String variantId = null;
+        int warmupTicks = 600;
+        int measuredTicks = 2400;
+        long seed = 42L;
+        double budgetMicros = Double.NaN;
+        boolean checkPairing = false;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--matches" -> matchCount = Integer.parseInt(value);
+                case "--players-per-team" -> playersPerTeam = Integer.parseInt(value);
+                case "--variant" -> variantId = value.trim().toLowerCase(Locale.ROOT);
+                case "--warmup" -> warmupTicks = Integer.parseInt(value);
+                case "--ticks" -> measuredTicks = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--budget-us" -> budgetMicros = Double.parseDouble(value);
+                case "--check-pairing" -> checkPairing = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        loadVariants();
+        SumoVariant variant = resolveVariant(variantId, playersPerTeam);
+        if (Double.isNaN(budgetMicros)) {
+            budgetMicros = variant.maximumPlayers() >= LARGE_MATCH_PLAYERS ? LARGE_MATCH_BUDGET_MICROS : 0D;
+        }
+        boolean withinBudget = new SumoLoadSimulation(matchCount, variant, warmupTicks, measuredTicks, seed,
+                budgetMicros, checkPairing).run();
+        if (!withinBudget) {
+            System.exit(1);
+        }
+    }
+
+    private static void loadVariants() {
+        InputStream stream = SumoLoadSimulation.class.getResourceAsStream("/config.yml");
+        if (stream == null) {
+            throw new IllegalStateException("config.yml is not on the simulation classpath");
+        }
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            YamlConfiguration config = YamlConfiguration.loadConfiguration(reader);
+            SumoVariant.load(config.getConfigurationSection("sumo")).forEach(System.err::println);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static SumoVariant resolveVariant(String variantId, int playersPerTeam) {
+        if (variantId != null) {
+            return SumoVariant.fromId(variantId).orElseThrow(() -> new IllegalArgumentException(
+                    "Unknown variant " + variantId + " (expected one of " + SumoVariant.all() + ")"));
+        }
+        return SumoVariant.all().stream()
+                .filter(variant -> variant.teamCount() == 2 && variant.playersPerTeam() == playersPerTeam)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No two-team variant seats " + playersPerTeam
+                        + " per team (configured: " + SumoVariant.all() + ")"));
+    }
+
+    private boolean run() {
+        if (!threads.isCurrentThreadCpuTimeSupported() || !threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM cannot measure per-thread CPU time and allocation");
+        }
+        threads.setThreadCpuTimeEnabled(true);
+        threads.setThreadAllocatedMemoryEnabled(true);
+        for (int slot = 0; slot < matchCount; slot++) {
+            matches[slot] = startMatch();
+        }
+
+        for (int tick = 0; tick < warmupTicks; tick++) {
+            tickAll();
+        }
+        wins = 0L;
+        ties = 0L;
+        pushes[0] = 0;
+
+        long[] cpuNanos = new long[measuredTicks];
+        long[] allocatedBytes = new long[measuredTicks];
+        for (int tick = 0; tick < measuredTicks; tick++) {
+            long cpuBefore = threads.getCurrentThreadCpuTime();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            tickAll();
+            cpuNanos[tick] = threads.getCurrentThreadCpuTime() - cpuBefore;
+            allocatedBytes[tick] = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        return report(cpuNanos, allocatedBytes);
+    }
+
+    private SimulatedSumoMatch startMatch() {
+        SimulatedSumoMatch match = new SimulatedSumoMatch(variant, nextRefreshSlot, healthGuards, random.split());
+        nextRefreshSlot = (nextRefreshSlot + 1) % SimulatedScoreboard.REFRESH_PERIOD_TICKS;
+        fallIndex.register(match.matchContext());
+        return match;
+    }
+
+    private void tickAll() {
+        for (int slot = 0; slot < matchCount; slot++) {
+            SimulatedSumoMatch match = matches[slot];
+            int outcome = match.tick(fallIndex, judge, pushes, pairingChecks);
+            if (outcome != SumoRoundJudge.UNDECIDED) {
+                match.conclude(fallIndex, healthGuards);
+                if (outcome == SumoRoundJudge.TIE) {
+                    ties++;
+                } else {
+                    wins++;
+                }
+                matches[slot] = startMatch();
+            }
+        }
+    }
+
+    private boolean report(long[] cpuNanos, long[] allocatedBytes) {
+        long[] sorted = cpuNanos.clone();
+        Arrays.sort(sorted);
+        double meanCpu = Arrays.stream(cpuNanos).average().orElse(0D);
+        double p99Cpu = sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.99D) - 1)];
+        double meanAllocated = Arrays.stream(allocatedBytes).average().orElse(0D);
+        double perMatchCpu = meanCpu / matchCount;
+        double perMatchP99 = p99Cpu / matchCount;
+
+        System.out.printf(Locale.ROOT, "Sumo load simulation: %d matches of %s (%d players), %d measured ticks%n",
+                matchCount, variant.id(), variant.maximumPlayers(), measuredTicks);
+        System.out.printf(Locale.ROOT, "  tick cpu      mean %.1f us  p50 %.1f us  p99 %.1f us  max %.1f us%n",
+                meanCpu / 1_000D, sorted[sorted.length / 2] / 1_000D, p99Cpu / 1_000D,
+                sorted[sorted.length - 1] / 1_000D);
+        System.out.printf(Locale.ROOT, "  per match     %.2f us/tick (p99 %.2f us/tick)%n",
+                perMatchCpu / 1_000D, perMatchP99 / 1_000D);
+        System.out.printf(Locale.ROOT, "  allocation    %.1f KiB/tick  %.2f MiB/s at 20 TPS%n",
+                meanAllocated / 1_024D, meanAllocated * 20D / (1_024D * 1_024D));
+        System.out.printf(Locale.ROOT, "  headroom      %.0f matches/core at mean, %.0f at p99 (50 ms tick)%n",
+                TICK_BUDGET_NANOS / Math.max(1D, perMatchCpu), TICK_BUDGET_NANOS / Math.max(1D, perMatchP99));
+        System.out.printf(Locale.ROOT, "  scoreboards   %.1f pushes/tick%n", pushes[0] / (double) measuredTicks);
+        System.out.printf(Locale.ROOT, "  concluded     %d wins, %d ties%n", wins, ties);
+        if (pairingChecks != null) {
+            System.out.printf(Locale.ROOT, "  pairing       %d combatants matched a full scan%n", pairingChecks[0]);
+        }
+        if (budgetMicros <= 0D) {
+            return true;
+        }
+        boolean withinBudget = perMatchP99 / 1_000D <= budgetMicros;
+        System.out.printf(Locale.ROOT, "  budget        %s: p99 %.2f us/tick against %.2f us/tick%n",
+                withinBudget ? "ok" : "EXCEEDED", perMatchP99 / 1_000D, budgetMicros);
+        return withinBudget;
+    }
+}